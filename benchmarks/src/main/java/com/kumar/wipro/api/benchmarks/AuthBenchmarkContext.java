@@ -0,0 +1,148 @@
+package com.kumar.wipro.api.benchmarks;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+
+import com.kumar.wipro.api.model.JwtKey;
+import com.kumar.wipro.api.model.Role;
+import com.kumar.wipro.api.model.RoleName;
+import com.kumar.wipro.api.model.User;
+import com.kumar.wipro.api.repository.JwtKeyRepository;
+import com.kumar.wipro.api.repository.RevokedTokenRepository;
+import com.kumar.wipro.api.repository.UserRepository;
+import com.kumar.wipro.api.security.JwtAuthenticationFilter;
+import com.kumar.wipro.api.security.JwtSigningKeys;
+import com.kumar.wipro.api.security.JwtTokenProvider;
+import com.kumar.wipro.api.security.TokenRevocationList;
+import com.kumar.wipro.api.security.VerifiedTokenCache;
+import com.kumar.wipro.api.service.CustomUserDetailsService;
+import com.kumar.wipro.api.service.TokenVersionService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * The application's authentication beans, wired by Spring as they are in the app but without a web
+ * server or database. The user repository is an in-memory stub that knows a single user, the
+ * signing key repository keeps keys in a list, and no token is ever revoked.
+ */
+final class AuthBenchmarkContext {
+
+    static final String SECRET =
+            "mySecretKeyForJWTWhichMustBeAtLeast512BitsLongForHS512AlgorithmToWorkProperly1234567890";
+
+    private AuthBenchmarkContext() {
+    }
+
+    static User sampleUser() {
+        User user = new User("John Doe", "johndoe", "john@example.com",
+                "$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z3tDZdYbkCb5sYFJ3m7TlJ3a");
+        user.setId(42L);
+        user.setRoles(Collections.singleton(new Role(RoleName.ROLE_USER)));
+        return user;
+    }
+
+    /**
+     * Starts a context with the given application properties on top of the defaults.
+     */
+    static AnnotationConfigApplicationContext start(Map<String, Object> overrides) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("app.jwtSecret", SECRET);
+        properties.put("app.jwtExpirationInMs", "900000");
+        properties.putAll(overrides);
+
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("benchmark", properties));
+        context.registerBean(MeterRegistry.class, SimpleMeterRegistry::new);
+        context.registerBean(UserRepository.class, () -> userRepository(sampleUser()));
+        context.registerBean(JwtKeyRepository.class, AuthBenchmarkContext::jwtKeyRepository);
+        context.registerBean(RevokedTokenRepository.class, AuthBenchmarkContext::revokedTokenRepository);
+        context.register(VerifiedTokenCache.class, JwtSigningKeys.class, TokenRevocationList.class,
+                JwtTokenProvider.class, TokenVersionService.class, CustomUserDetailsService.class,
+                JwtAuthenticationFilter.class);
+        context.refresh();
+        return context;
+    }
+
+    private static JwtKeyRepository jwtKeyRepository() {
+        List<JwtKey> keys = Collections.synchronizedList(new ArrayList<>());
+        return (JwtKeyRepository) Proxy.newProxyInstance(JwtKeyRepository.class.getClassLoader(),
+                new Class<?>[] {JwtKeyRepository.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "findAllByOrderByActivatesAtAsc":
+                            synchronized (keys) {
+                                List<JwtKey> sorted = new ArrayList<>(keys);
+                                sorted.sort(Comparator.comparing(JwtKey::getActivatesAt));
+                                return sorted;
+                            }
+                        case "save":
+                            keys.add((JwtKey) args[0]);
+                            return args[0];
+                        case "deleteByKidIn":
+                            Collection<?> kids = (Collection<?>) args[0];
+                            int before = keys.size();
+                            keys.removeIf(key -> kids.contains(key.getKid()));
+                            return before - keys.size();
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        case "toString":
+                            return "JwtKeyRepository stub";
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    private static RevokedTokenRepository revokedTokenRepository() {
+        return (RevokedTokenRepository) Proxy.newProxyInstance(RevokedTokenRepository.class.getClassLoader(),
+                new Class<?>[] {RevokedTokenRepository.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "findRevokedSince":
+                            return Collections.emptyList();
+                        case "deleteExpired":
+                            return 0;
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        case "toString":
+                            return "RevokedTokenRepository stub";
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    private static UserRepository userRepository(User user) {
+        return (UserRepository) Proxy.newProxyInstance(UserRepository.class.getClassLoader(),
+                new Class<?>[] {UserRepository.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "findById":
+                        case "findWithRolesById":
+                            return user.getId().equals(args[0]) ? Optional.of(user) : Optional.empty();
+                        case "findTokenVersionById":
+                            return user.getId().equals(args[0]) ? Optional.of(user.getTokenVersion()) : Optional.empty();
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        case "toString":
+                            return "UserRepository stub";
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+}
@@ -0,0 +1,98 @@
+package com.kumar.wipro.api.benchmarks;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.kumar.wipro.api.security.JwtAuthenticationFilter;
+import com.kumar.wipro.api.security.JwtTokenProvider;
+import com.kumar.wipro.api.security.UserPrincipal;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+
+/**
+ * One pass of the authentication filter over a mock request, from reading the Authorization
+ * header to populating the security context.
+ *
+ * With statelessPrincipal=false the principal is loaded through CustomUserDetailsService, backed by
+ * an in-memory repository stub, so the numbers leave out the database round trip.
+ *
+ * Run with: java -jar target/benchmarks.jar JwtAuthenticationFilterBenchmark -prof gc
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({"true", "false"})
+    public boolean statelessPrincipal;
+
+    @Param({"valid", "missing", "garbage"})
+    public String authorization;
+
+    private AnnotationConfigApplicationContext context;
+    private JwtAuthenticationFilter filter;
+
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private FilterChain chain;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = AuthBenchmarkContext.start(
+                Collections.singletonMap("app.jwtStatelessPrincipal", String.valueOf(statelessPrincipal)));
+        filter = context.getBean(JwtAuthenticationFilter.class);
+
+        request = new MockHttpServletRequest("GET", "/api/v1/users/me");
+        request.setRemoteAddr("10.0.0.1");
+        switch (authorization) {
+            case "valid":
+                String token = context.getBean(JwtTokenProvider.class)
+                        .generateToken(UserPrincipal.create(AuthBenchmarkContext.sampleUser()));
+                request.addHeader("Authorization", "Bearer " + token);
+                break;
+            case "garbage":
+                request.addHeader("Authorization", "Bearer not-a-jwt");
+                break;
+            default:
+                break;
+        }
+        response = new MockHttpServletResponse();
+        chain = (req, res) -> { };
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void doFilterInternal(Blackhole blackhole) throws ServletException, IOException {
+        filter.doFilter(request, response, chain);
+        blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+        SecurityContextHolder.clearContext();
+    }
+}
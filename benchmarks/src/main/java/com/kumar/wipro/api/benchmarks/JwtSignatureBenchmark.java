@@ -0,0 +1,154 @@
+package com.kumar.wipro.api.benchmarks;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.security.Signature;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+
+/**
+ * Verify cost of HS512 (shared secret) against the asymmetric alternatives, for a token carrying the
+ * same claims the API issues.
+ *
+ * verifyJwt is the full verify-and-parse a downstream service pays per request; verifySignature
+ * isolates the cryptographic check. JJWT 0.11.x cannot handle EdDSA tokens, so the Ed25519 case
+ * verifies the signature with JCA and then parses the claims of the unsigned token.
+ *
+ * Run with: java -jar target/benchmarks.jar JwtSignatureBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtSignatureBenchmark {
+
+    private static final String SECRET =
+            "mySecretKeyForJWTWhichMustBeAtLeast512BitsLongForHS512AlgorithmToWorkProperly1234567890";
+
+    @Param({"HS512", "ES256", "Ed25519"})
+    public String algorithm;
+
+    private String token;
+    private JwtParser parser;
+
+    private byte[] signingInput;
+    private byte[] signature;
+    private Mac mac;
+    private Signature verifier;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        Date now = new Date();
+        Date expiry = new Date(now.getTime() + 86400000L);
+
+        switch (algorithm) {
+            case "HS512": {
+                SecretKeySpec key = new SecretKeySpec(Decoders.BASE64.decode(SECRET),
+                        SignatureAlgorithm.HS512.getJcaName());
+                token = sampleToken(now, expiry).signWith(key, SignatureAlgorithm.HS512).compact();
+                parser = Jwts.parserBuilder().setSigningKey(key).build();
+                signingInput = signingInput(token);
+                signature = Base64.getUrlDecoder().decode(token.substring(token.lastIndexOf('.') + 1));
+                mac = Mac.getInstance(key.getAlgorithm());
+                mac.init(key);
+                break;
+            }
+            case "ES256": {
+                KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+                generator.initialize(new ECGenParameterSpec("secp256r1"));
+                KeyPair keyPair = generator.generateKeyPair();
+                token = sampleToken(now, expiry).setHeaderParam("kid", "bench")
+                        .signWith(keyPair.getPrivate(), SignatureAlgorithm.ES256).compact();
+                parser = Jwts.parserBuilder().setSigningKey(keyPair.getPublic()).build();
+                signingInput = signingInput(token);
+                signature = sign("SHA256withECDSA", keyPair, signingInput);
+                verifier = Signature.getInstance("SHA256withECDSA");
+                verifier.initVerify(keyPair.getPublic());
+                break;
+            }
+            case "Ed25519": {
+                KeyPair keyPair = KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+                token = sampleToken(now, expiry).compact();
+                parser = Jwts.parserBuilder().build();
+                signingInput = signingInput(token);
+                signature = sign("Ed25519", keyPair, signingInput);
+                verifier = Signature.getInstance("Ed25519");
+                verifier.initVerify(keyPair.getPublic());
+                break;
+            }
+            default:
+                throw new IllegalArgumentException("Unknown algorithm " + algorithm);
+        }
+    }
+
+    @Benchmark
+    public Claims verifyJwt() throws Exception {
+        if (parser.isSigned(token)) {
+            return parser.parseClaimsJws(token).getBody();
+        }
+        if (!verifySignature()) {
+            throw new IllegalStateException("Signature mismatch");
+        }
+        return parser.parseClaimsJwt(token).getBody();
+    }
+
+    @Benchmark
+    public boolean verifySignature() throws Exception {
+        if (mac != null) {
+            return MessageDigest.isEqual(mac.doFinal(signingInput), signature);
+        }
+        verifier.update(signingInput);
+        return verifier.verify(signature);
+    }
+
+    private static JwtBuilder sampleToken(Date now, Date expiry) {
+        return Jwts.builder()
+                .setSubject("42")
+                .claim("username", "johndoe")
+                .claim("name", "John Doe")
+                .claim("roles", Arrays.asList("ROLE_USER"))
+                .setIssuedAt(now)
+                .setExpiration(expiry);
+    }
+
+    private static byte[] signingInput(String token) {
+        return token.substring(0, token.lastIndexOf('.')).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static byte[] sign(String algorithm, KeyPair keyPair, byte[] input) throws Exception {
+        Signature signer = Signature.getInstance(algorithm);
+        signer.initSign(keyPair.getPrivate());
+        signer.update(input);
+        return signer.sign();
+    }
+}
@@ -0,0 +1,86 @@
+package com.kumar.wipro.api.benchmarks;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import io.jsonwebtoken.io.Decoders;
+
+import com.kumar.wipro.api.model.User;
+import com.kumar.wipro.api.security.Hs512TokenVerifier;
+import com.kumar.wipro.api.security.JwtTokenProvider;
+import com.kumar.wipro.api.security.UserPrincipal;
+
+/**
+ * The token work done on signin and on every authenticated request.
+ *
+ * validateToken goes through the verified-token cache like the filter does. verifyHs512 is the
+ * allocation-free verifier that checks the signature on a cache miss; JwtSignatureBenchmark has the
+ * cost of the general JJWT parse it replaces.
+ *
+ * Run with: java -jar target/benchmarks.jar JwtTokenProviderBenchmark -prof gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+
+    private AnnotationConfigApplicationContext context;
+    private JwtTokenProvider tokenProvider;
+
+    private User user;
+    private UserPrincipal principal;
+    private String token;
+    private Hs512TokenVerifier hs512Verifier;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = AuthBenchmarkContext.start(Collections.emptyMap());
+        tokenProvider = context.getBean(JwtTokenProvider.class);
+        user = AuthBenchmarkContext.sampleUser();
+        principal = UserPrincipal.create(user);
+        token = tokenProvider.generateToken(principal);
+        hs512Verifier = new Hs512TokenVerifier(Decoders.BASE64.decode(AuthBenchmarkContext.SECRET));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return tokenProvider.generateToken(principal);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return tokenProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public long verifyHs512() {
+        return hs512Verifier.verify(token, System.currentTimeMillis()).getExpiresAt();
+    }
+
+    @Benchmark
+    public UserPrincipal createUserPrincipal() {
+        return UserPrincipal.create(user);
+    }
+}
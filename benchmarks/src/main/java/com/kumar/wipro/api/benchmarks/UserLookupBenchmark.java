@@ -0,0 +1,121 @@
+package com.kumar.wipro.api.benchmarks;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.kumar.wipro.api.model.User;
+
+/**
+ * Login lookup by username or email: the former {@code username = ? or email = ?} query against a
+ * lookup on the one normalized column the identifier names, on an embedded H2 users table shaped
+ * like the one Hibernate generates (both sets of unique indexes present).
+ *
+ * The table is filled with {@code rows} users; half of the lookups use an email, half a username.
+ * For the 10M-row case give the fork enough heap:
+ * java -jar target/benchmarks.jar UserLookupBenchmark -p rows=10000000 -jvmArgs -Xmx8g
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserLookupBenchmark {
+
+    private static final int IDENTIFIERS = 4096;
+
+    @Param({"100000", "1000000"})
+    public int rows;
+
+    private Connection connection;
+
+    private PreparedStatement byUsernameOrEmail;
+    private PreparedStatement byUsernameNormalized;
+    private PreparedStatement byEmailNormalized;
+
+    private final String[] identifiers = new String[IDENTIFIERS];
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:userlookup;DB_CLOSE_DELAY=-1", "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create table users ("
+                    + "id bigint generated by default as identity primary key, "
+                    + "name varchar(40), username varchar(15), email varchar(40), "
+                    + "username_normalized varchar(15) not null, email_normalized varchar(40) not null, "
+                    + "password varchar(100), token_version integer default 0 not null)");
+            statement.execute("insert into users (name, username, email, username_normalized, email_normalized, password) "
+                    + "select 'User ' || x, 'User' || x, 'User' || x || '@Example.com', "
+                    + "'user' || x, 'user' || x || '@example.com', 'hash' from system_range(1, " + rows + ")");
+            statement.execute("alter table users add constraint uk_users_username_raw unique (username)");
+            statement.execute("alter table users add constraint uk_users_email_raw unique (email)");
+            statement.execute("alter table users add constraint uk_users_username unique (username_normalized)");
+            statement.execute("alter table users add constraint uk_users_email unique (email_normalized)");
+        }
+
+        byUsernameOrEmail = connection.prepareStatement("select id, password from users where username = ? or email = ?");
+        byUsernameNormalized = connection.prepareStatement("select id, password from users where username_normalized = ?");
+        byEmailNormalized = connection.prepareStatement("select id, password from users where email_normalized = ?");
+
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < IDENTIFIERS; i++) {
+            int user = 1 + random.nextInt(rows);
+            identifiers[i] = (i & 1) == 0 ? "User" + user : "User" + user + "@Example.com";
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop all objects");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public long usernameOrEmailQuery() throws SQLException {
+        String identifier = nextIdentifier();
+        byUsernameOrEmail.setString(1, identifier);
+        byUsernameOrEmail.setString(2, identifier);
+        return firstId(byUsernameOrEmail);
+    }
+
+    @Benchmark
+    public long normalizedLookup() throws SQLException {
+        String identifier = User.normalize(nextIdentifier());
+        PreparedStatement statement = identifier.indexOf('@') >= 0 ? byEmailNormalized : byUsernameNormalized;
+        statement.setString(1, identifier);
+        return firstId(statement);
+    }
+
+    private String nextIdentifier() {
+        return identifiers[next++ & (IDENTIFIERS - 1)];
+    }
+
+    private static long firstId(PreparedStatement statement) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery()) {
+            return resultSet.next() ? resultSet.getLong(1) : -1;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.kumar.wipro.api.benchmarks;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * One page of the admin user listing at a given depth of an embedded H2 users table: the
+ * {@code order by id limit ? offset ?} query against the keyset query GET /api/v1/users runs,
+ * {@code where id > ? order by id limit ?}.
+ *
+ * {@code depth} is how far into the table the page starts, as a fraction of {@code rows}. H2 skips
+ * an unfiltered OFFSET by counting index pages, so the filtered pair is the one that shows the cost
+ * of reading and discarding every row before the page.
+ * java -jar target/benchmarks.jar UserPageBenchmark -p rows=5000000 -jvmArgs -Xmx8g
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserPageBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private static final String COLUMNS = "select id, name, username, email from users";
+
+    @Param({"1000000"})
+    public int rows;
+
+    @Param({"0.0", "0.5", "0.99"})
+    public double depth;
+
+    private Connection connection;
+
+    private PreparedStatement byOffset;
+    private PreparedStatement byKeyset;
+    private PreparedStatement filteredByOffset;
+    private PreparedStatement filteredByKeyset;
+
+    private long start;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:userpage;DB_CLOSE_DELAY=-1", "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create table users ("
+                    + "id bigint generated by default as identity primary key, "
+                    + "name varchar(40), username varchar(15), email varchar(40), "
+                    + "username_normalized varchar(15) not null, email_normalized varchar(40) not null, "
+                    + "password varchar(100), token_version integer default 0 not null)");
+            statement.execute("insert into users (name, username, email, username_normalized, email_normalized, password) "
+                    + "select 'User ' || x, 'User' || x, 'User' || x || '@Example.com', "
+                    + "'user' || x, 'user' || x || '@example.com', 'hash' from system_range(1, " + rows + ")");
+        }
+
+        byOffset = connection.prepareStatement(COLUMNS + " order by id limit ? offset ?");
+        byKeyset = connection.prepareStatement(COLUMNS + " where id > ? order by id limit ?");
+        // A prefix every username matches: same rows, but the offset can no longer be skipped by count
+        filteredByOffset = connection.prepareStatement(COLUMNS
+                + " where username_normalized like 'user%' order by id limit ? offset ?");
+        filteredByKeyset = connection.prepareStatement(COLUMNS
+                + " where id > ? and username_normalized like 'user%' order by id limit ?");
+        start = (long) (rows * depth);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop all objects");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public long offsetPage() throws SQLException {
+        byOffset.setInt(1, PAGE_SIZE);
+        byOffset.setLong(2, start);
+        return lastId(byOffset);
+    }
+
+    @Benchmark
+    public long keysetPage() throws SQLException {
+        // Ids start at 1, so the last id of the previous page equals the number of rows before it
+        byKeyset.setLong(1, start);
+        byKeyset.setInt(2, PAGE_SIZE);
+        return lastId(byKeyset);
+    }
+
+    @Benchmark
+    public long filteredOffsetPage() throws SQLException {
+        filteredByOffset.setInt(1, PAGE_SIZE);
+        filteredByOffset.setLong(2, start);
+        return lastId(filteredByOffset);
+    }
+
+    @Benchmark
+    public long filteredKeysetPage() throws SQLException {
+        filteredByKeyset.setLong(1, start);
+        filteredByKeyset.setInt(2, PAGE_SIZE);
+        return lastId(filteredByKeyset);
+    }
+
+    private static long lastId(PreparedStatement statement) throws SQLException {
+        long last = -1;
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                last = resultSet.getLong(1);
+            }
+        }
+        return last;
+    }
+}
@@ -0,0 +1,116 @@
+package com.kumar.wipro.api.benchmarks;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.kumar.wipro.api.dto.UserSearchResult;
+import com.kumar.wipro.api.service.UserSearchIndex;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Type-ahead queries against a {@link UserSearchIndex} of {@code users} generated users, reported
+ * as a latency distribution (see p0.99). Queries are a mix of short and long username prefixes,
+ * name-word prefixes and misspelled surnames.
+ *
+ * For the 5M-user case give the fork enough heap:
+ * java -jar target/benchmarks.jar UserSearchBenchmark -p users=5000000 -jvmArgs -Xmx8g
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class UserSearchBenchmark {
+
+    private static final String[] FIRST_NAMES = {
+        "james", "mary", "robert", "patricia", "john", "jennifer", "michael", "linda", "david", "elizabeth",
+        "william", "barbara", "richard", "susan", "joseph", "jessica", "thomas", "sarah", "charles", "karen",
+        "chen", "wei", "priya", "rahul", "ana", "luis", "fatima", "omar", "yuki", "hiroshi"
+    };
+
+    private static final String[] SYLLABLES = {
+        "son", "man", "ber", "ton", "ley", "ard", "vin", "ers", "ski", "ova", "ez", "oli", "ram", "kar", "dis",
+        "ham", "nel", "tor", "gar", "lin", "mor", "ric", "sta", "wel", "yam"
+    };
+
+    private static final int QUERIES = 4096;
+
+    @Param({"1000000"})
+    public int users;
+
+    private UserSearchIndex index;
+
+    private final String[] queries = new String[QUERIES];
+
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        index = new UserSearchIndex(2048, 0.3, new SimpleMeterRegistry());
+        SplittableRandom random = new SplittableRandom(42);
+        String[] surnames = new String[users];
+        String[] usernames = new String[users];
+        for (int id = 0; id < users; id++) {
+            String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String surname = surname(random);
+            // At most 1 + 9 + 5 characters up to 60M users, and unique like real usernames
+            usernames[id] = first.charAt(0) + surname + Integer.toString(id, 36);
+            surnames[id] = surname;
+            index.put(id + 1, usernames[id], capitalize(first) + " " + capitalize(surname));
+        }
+
+        for (int i = 0; i < QUERIES; i++) {
+            int user = random.nextInt(users);
+            switch (i & 3) {
+                case 0 -> queries[i] = usernames[user].substring(0, 2);
+                case 1 -> queries[i] = usernames[user].substring(0, 6);
+                case 2 -> queries[i] = surnames[user].substring(0, 4);
+                default -> queries[i] = misspell(surnames[user], random);
+            }
+        }
+    }
+
+    @Benchmark
+    public List<UserSearchResult> search() {
+        return index.search(queries[next++ & (QUERIES - 1)], 10);
+    }
+
+    private static String surname(SplittableRandom random) {
+        StringBuilder surname = new StringBuilder();
+        int syllables = 2 + random.nextInt(2);
+        for (int i = 0; i < syllables; i++) {
+            surname.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        return surname.toString();
+    }
+
+    private static String misspell(String word, SplittableRandom random) {
+        // Swap two neighbouring letters
+        char[] chars = word.toCharArray();
+        int i = 1 + random.nextInt(chars.length - 2);
+        char swapped = chars[i];
+        chars[i] = chars[i + 1];
+        chars[i + 1] = swapped;
+        return new String(chars);
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+}
@@ -2,11 +2,13 @@ package com.kumar.wipro.api;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Main Spring Boot Application class for User Management API
  */
 @SpringBootApplication
+@EnableScheduling
 public class UserManagementApiApplication {
 
     public static void main(String[] args) {
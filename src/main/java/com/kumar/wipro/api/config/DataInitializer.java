@@ -1,21 +1,37 @@
 package com.kumar.wipro.api.config;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
 
 import com.kumar.wipro.api.model.Role;
 import com.kumar.wipro.api.model.RoleName;
 import com.kumar.wipro.api.repository.RoleRepository;
+import com.kumar.wipro.api.repository.UserRepository;
+import com.kumar.wipro.api.service.RoleRegistry;
 
+/**
+ * Seeds the reference data and loads it into memory. Runs once every singleton exists but before the
+ * web server starts, so no request can arrive before the roles are there.
+ */
 @Component
-public class DataInitializer implements CommandLineRunner {
+public class DataInitializer implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataInitializer.class);
 
     @Autowired
     private RoleRepository roleRepository;
 
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRegistry roleRegistry;
+
     @Override
-    public void run(String... args) throws Exception {
+    public void afterSingletonsInstantiated() {
         // Create default roles if they don't exist
         if (!roleRepository.findByName(RoleName.ROLE_USER).isPresent()) {
             roleRepository.save(new Role(RoleName.ROLE_USER));
@@ -24,5 +40,14 @@ public class DataInitializer implements CommandLineRunner {
         if (!roleRepository.findByName(RoleName.ROLE_ADMIN).isPresent()) {
             roleRepository.save(new Role(RoleName.ROLE_ADMIN));
         }
+
+        // Roles never change at runtime, so they are read once and served from memory
+        roleRegistry.load(roleRepository.findAll());
+
+        // Users from before the case-insensitive lookup columns cannot sign in until these are set
+        int backfilled = userRepository.backfillNormalizedColumns();
+        if (backfilled > 0) {
+            logger.info("Backfilled normalized username and email for {} users", backfilled);
+        }
     }
 }
@@ -4,6 +4,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionHandler;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -11,14 +12,17 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import com.kumar.wipro.api.security.BulkheadPasswordEncoder;
 import com.kumar.wipro.api.security.JwtAuthenticationEntryPoint;
 import com.kumar.wipro.api.security.JwtAuthenticationFilter;
+import com.kumar.wipro.api.security.PasswordEncoderCalibrator;
+import com.kumar.wipro.api.security.PasswordHashingExecutor;
+import com.kumar.wipro.api.security.RoleMaskMethodSecurityExpressionHandler;
+import com.kumar.wipro.api.service.CustomUserDetailsService;
 
 @Configuration
 @EnableWebSecurity
@@ -32,11 +36,23 @@ public class SecurityConfig {
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
     @Autowired
-    private UserDetailsService userDetailsService;
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private PasswordHashingExecutor passwordHashingExecutor;
+
+    @Autowired
+    private PasswordEncoderCalibrator passwordEncoderCalibrator;
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BulkheadPasswordEncoder(passwordEncoderCalibrator.calibrate(), passwordHashingExecutor);
+    }
+
+    // Resolves hasRole(...) in @PreAuthorize against the principal's role bits
+    @Bean
+    static MethodSecurityExpressionHandler methodSecurityExpressionHandler() {
+        return new RoleMaskMethodSecurityExpressionHandler();
     }
 
     @Bean
@@ -44,6 +60,8 @@ public class SecurityConfig {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
+        // Re-encodes a user's hash on login when it was made with other parameters than the current ones
+        authProvider.setUserDetailsPasswordService(userDetailsService);
         return authProvider;
     }
 
@@ -71,7 +89,10 @@ public class SecurityConfig {
                     .requestMatchers("/api/v1/users/register").permitAll()
                     .requestMatchers(HttpMethod.GET, "/api/users/{username}").permitAll()
                     .requestMatchers(HttpMethod.GET, "/api/v1/users/{username}").permitAll()
-                    .requestMatchers("/actuator/**").permitAll()
+                    .requestMatchers(HttpMethod.GET, "/.well-known/jwks.json").permitAll()
+                    .requestMatchers("/actuator/health/**", "/actuator/info").permitAll()
+                    // Metrics name internals (login throttling, hashing, sessions); admins only
+                    .requestMatchers("/actuator/**").hasRole("ADMIN")
                     .requestMatchers("/").permitAll()
                     .requestMatchers("/error").permitAll()
                     .anyRequest().authenticated()
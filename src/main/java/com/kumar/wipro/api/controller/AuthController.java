@@ -1,33 +1,48 @@
 package com.kumar.wipro.api.controller;
 
 import java.net.URI;
-import java.util.Collections;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import com.kumar.wipro.api.dto.ApiResponse;
+import com.kumar.wipro.api.dto.AvailabilityResponse;
 import com.kumar.wipro.api.dto.JwtAuthenticationResponse;
 import com.kumar.wipro.api.dto.LoginRequest;
+import com.kumar.wipro.api.dto.RefreshTokenRequest;
 import com.kumar.wipro.api.dto.SignUpRequest;
-import com.kumar.wipro.api.model.Role;
-import com.kumar.wipro.api.model.RoleName;
+import com.kumar.wipro.api.exception.BadRequestException;
+import com.kumar.wipro.api.exception.DuplicateUserException;
+import com.kumar.wipro.api.exception.ResourceNotFoundException;
 import com.kumar.wipro.api.model.User;
-import com.kumar.wipro.api.repository.RoleRepository;
-import com.kumar.wipro.api.repository.UserRepository;
+import com.kumar.wipro.api.security.CurrentUser;
 import com.kumar.wipro.api.security.JwtTokenProvider;
-
+import com.kumar.wipro.api.security.LoginThrottle;
+import com.kumar.wipro.api.security.SessionTokenService;
+import com.kumar.wipro.api.security.UserPrincipal;
+import com.kumar.wipro.api.service.RefreshTokenService;
+import com.kumar.wipro.api.service.TokenVersionService;
+import com.kumar.wipro.api.service.UserAvailabilityService;
+import com.kumar.wipro.api.service.UserRegistrationService;
+
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
 @RestController
@@ -38,63 +53,144 @@ public class AuthController {
     AuthenticationManager authenticationManager;
 
     @Autowired
-    UserRepository userRepository;
+    JwtTokenProvider tokenProvider;
 
     @Autowired
-    RoleRepository roleRepository;
+    TokenVersionService tokenVersionService;
 
     @Autowired
-    PasswordEncoder passwordEncoder;
+    RefreshTokenService refreshTokenService;
 
     @Autowired
-    JwtTokenProvider tokenProvider;
+    LoginThrottle loginThrottle;
 
-    @PostMapping("/signin")
-    public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
+    @Autowired
+    UserRegistrationService userRegistrationService;
 
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        loginRequest.getUsernameOrEmail(),
-                        loginRequest.getPassword()
-                )
-        );
+    @Autowired
+    UserAvailabilityService userAvailabilityService;
+
+    // Only present with app.authMode=session
+    @Autowired(required = false)
+    SessionTokenService sessionTokenService;
+
+    @PostMapping("/signin")
+    public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest,
+            HttpServletRequest request) {
+        // Throttled attempts are turned away before any password is hashed
+        loginThrottle.checkAllowed(loginRequest.getUsernameOrEmail(), request.getRemoteAddr());
+
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(
+                            loginRequest.getUsernameOrEmail(),
+                            loginRequest.getPassword()
+                    )
+            );
+        } catch (BadCredentialsException ex) {
+            loginThrottle.recordFailure(loginRequest.getUsernameOrEmail());
+            throw ex;
+        }
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
 
+        if (sessionTokenService != null) {
+            String sessionToken = sessionTokenService.createSession((UserPrincipal) authentication.getPrincipal());
+            return ResponseEntity.ok(new JwtAuthenticationResponse(sessionToken, null,
+                    sessionTokenService.getIdleTimeoutMs() / 1000));
+        }
+
         String jwt = tokenProvider.generateToken(authentication);
-        return ResponseEntity.ok(new JwtAuthenticationResponse(jwt));
+        String refreshToken = refreshTokenService.issue((UserPrincipal) authentication.getPrincipal());
+        return ResponseEntity.ok(new JwtAuthenticationResponse(jwt, refreshToken, accessTokenLifetimeSeconds()));
+    }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refreshToken(@Valid @RequestBody RefreshTokenRequest refreshTokenRequest) {
+        // Exchanges the refresh token without re-checking the password
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshTokenRequest.getRefreshToken());
+
+        String jwt = tokenProvider.generateToken(rotation.principal());
+        return ResponseEntity.ok(new JwtAuthenticationResponse(jwt, rotation.refreshToken(), accessTokenLifetimeSeconds()));
     }
 
     @PostMapping("/signup")
     public ResponseEntity<?> registerUser(@Valid @RequestBody SignUpRequest signUpRequest) {
-        if(userRepository.existsByUsername(signUpRequest.getUsername())) {
+        User result;
+        try {
+            result = userRegistrationService.register(signUpRequest);
+        } catch (DuplicateUserException ex) {
             return ResponseEntity.badRequest()
-                    .body(new ApiResponse(false, "Username is already taken!"));
+                    .body(new ApiResponse(false, ex.getMessage()));
         }
 
-        if(userRepository.existsByEmail(signUpRequest.getEmail())) {
-            return ResponseEntity.badRequest()
-                    .body(new ApiResponse(false, "Email Address already in use!"));
-        }
+        URI location = ServletUriComponentsBuilder
+                .fromCurrentContextPath().path("/api/users/{username}")
+                .buildAndExpand(result.getUsername()).toUri();
 
-        // Creating user's account
-        User user = new User(signUpRequest.getName(), signUpRequest.getUsername(),
-                signUpRequest.getEmail(), signUpRequest.getPassword());
+        return ResponseEntity.created(location)
+                .body(new ApiResponse(true, "User registered successfully"));
+    }
 
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
+    /**
+     * Whether the username and/or email can still be signed up with, matched case-insensitively.
+     * An answer of "available" is advisory: signup itself still relies on the unique constraints.
+     */
+    @GetMapping("/availability")
+    public ResponseEntity<?> checkAvailability(@RequestParam(value = "username", required = false) String username,
+            @RequestParam(value = "email", required = false) String email) {
+        if (username == null && email == null) {
+            throw new BadRequestException("Username or email is required");
+        }
+        if (username != null && username.isBlank() || email != null && email.isBlank()) {
+            throw new BadRequestException("Username and email must not be blank");
+        }
+        return ResponseEntity.ok(new AvailabilityResponse(
+                username == null ? null : userAvailabilityService.isUsernameAvailable(username),
+                email == null ? null : userAvailabilityService.isEmailAvailable(email)));
+    }
 
-        Role userRole = roleRepository.findByName(RoleName.ROLE_USER)
-                .orElseThrow(() -> new RuntimeException("User Role not set."));
+    @PostMapping("/signout")
+    public ResponseEntity<?> signOut(@RequestHeader(value = "Authorization", required = false) String authorization,
+            @RequestBody(required = false) RefreshTokenRequest refreshTokenRequest) {
+        // Signing out twice, or with an already invalid token, is not an error
+        String token = JwtTokenProvider.resolveBearerToken(authorization);
+        if (sessionTokenService != null && SessionTokenService.isSessionToken(token)) {
+            sessionTokenService.invalidate(token);
+        } else {
+            tokenProvider.revokeToken(token);
+        }
+        if (refreshTokenRequest != null && refreshTokenRequest.getRefreshToken() != null) {
+            refreshTokenService.revoke(refreshTokenRequest.getRefreshToken());
+        }
+        return ResponseEntity.ok(new ApiResponse(true, "User signed out successfully"));
+    }
 
-        user.setRoles(Collections.singleton(userRole));
+    @DeleteMapping("/tokens/{tokenId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> revokeToken(@PathVariable(value = "tokenId") String tokenId) {
+        tokenProvider.revokeTokenId(tokenId);
+        return ResponseEntity.ok(new ApiResponse(true, "Token revoked"));
+    }
 
-        User result = userRepository.save(user);
+    @PostMapping("/signout-all")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<?> signOutEverywhere(@CurrentUser UserPrincipal currentUser) {
+        tokenVersionService.invalidateTokens(currentUser.getId());
+        return ResponseEntity.ok(new ApiResponse(true, "User signed out from all devices"));
+    }
 
-        URI location = ServletUriComponentsBuilder
-                .fromCurrentContextPath().path("/api/users/{username}")
-                .buildAndExpand(result.getUsername()).toUri();
+    @DeleteMapping("/users/{userId}/tokens")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> revokeUserTokens(@PathVariable(value = "userId") Long userId) {
+        if (tokenVersionService.invalidateTokens(userId) == TokenVersionService.UNKNOWN_USER) {
+            throw new ResourceNotFoundException("User not found");
+        }
+        return ResponseEntity.ok(new ApiResponse(true, "All tokens of the user revoked"));
+    }
 
-        return ResponseEntity.created(location)
-                .body(new ApiResponse(true, "User registered successfully"));
+    private long accessTokenLifetimeSeconds() {
+        return tokenProvider.getExpirationInMs() / 1000;
     }
 }
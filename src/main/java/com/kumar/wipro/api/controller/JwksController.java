@@ -0,0 +1,32 @@
+package com.kumar.wipro.api.controller;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.kumar.wipro.api.security.JwtSigningKeys;
+
+/**
+ * Publishes the token verification keys so other services can verify ES256 tokens offline.
+ */
+@RestController
+public class JwksController {
+
+    @Autowired
+    private JwtSigningKeys signingKeys;
+
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, List<Map<String, Object>>>> getJwks() {
+        // New keys are published app.jwtKeyPublishLeadMs, at least this max-age, before they sign anything
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(JwtSigningKeys.JWKS_MAX_AGE_SECONDS, TimeUnit.SECONDS).cachePublic())
+                .body(Collections.singletonMap("keys", signingKeys.publicJwks()));
+    }
+}
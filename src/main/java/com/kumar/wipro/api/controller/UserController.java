@@ -1,35 +1,172 @@
 package com.kumar.wipro.api.controller;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.kumar.wipro.api.dto.PublicUserProfile;
+import com.kumar.wipro.api.dto.UserBatchRequest;
+import com.kumar.wipro.api.dto.UserBatchResponse;
+import com.kumar.wipro.api.dto.UserPage;
+import com.kumar.wipro.api.dto.UserProfile;
+import com.kumar.wipro.api.dto.UserSearchResult;
+import com.kumar.wipro.api.dto.UserSummary;
+import com.kumar.wipro.api.exception.BadRequestException;
 import com.kumar.wipro.api.exception.ResourceNotFoundException;
-import com.kumar.wipro.api.model.User;
+import com.kumar.wipro.api.model.RoleName;
 import com.kumar.wipro.api.repository.UserRepository;
 import com.kumar.wipro.api.security.CurrentUser;
 import com.kumar.wipro.api.security.UserPrincipal;
+import com.kumar.wipro.api.service.UserBatchService;
+import com.kumar.wipro.api.service.UserExportService;
+import com.kumar.wipro.api.service.UserProfileCache;
+import com.kumar.wipro.api.service.UserSearchIndex;
+
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
 
 @RestController
 @RequestMapping("/api/v1/users")
 public class UserController {
 
+    // Longer than any username or name can be, so nothing longer can match
+    private static final int MAX_SEARCH_QUERY_LENGTH = 100;
+
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserProfileCache userProfileCache;
+
+    @Autowired
+    private UserExportService userExportService;
+
+    @Autowired
+    private UserBatchService userBatchService;
+
+    @Autowired
+    private UserSearchIndex userSearchIndex;
+
+    @Value("${app.userListMaxPageSize:100}")
+    private int maxPageSize;
+
+    @Value("${app.userSearchMaxResults:50}")
+    private int maxSearchResults;
+
+    /**
+     * Users in id order, a page at a time. Pages are addressed by the last id seen rather than an
+     * offset, so a deep page costs the same as the first one.
+     */
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public UserPage listUsers(@RequestParam(value = "after", required = false) Long after,
+            @RequestParam(value = "size", defaultValue = "20") int size,
+            @RequestParam(value = "role", required = false) String role,
+            @RequestParam(value = "prefix", required = false) String prefix) {
+        if (size < 1) {
+            throw new BadRequestException("Page size must be positive");
+        }
+        int pageSize = Math.min(size, maxPageSize);
+        String usernamePrefix = prefix == null || prefix.isBlank() ? null : prefix;
+
+        // One row more than the page tells whether another page follows
+        List<UserProfile> users = userRepository.findProfilePage(after == null ? 0L : after,
+                parseRole(role), usernamePrefix, pageSize + 1);
+        Long nextCursor = null;
+        if (users.size() > pageSize) {
+            users = users.subList(0, pageSize);
+            nextCursor = users.get(pageSize - 1).getId();
+        }
+        return new UserPage(users, nextCursor);
+    }
+
+    /**
+     * The whole user directory as NDJSON, optionally gzipped. Written to the response while it is
+     * read from the database, on the request thread.
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public void exportUsers(@RequestParam(value = "gzip", defaultValue = "false") boolean gzip,
+            HttpServletResponse response) throws IOException {
+        String filename = gzip ? "users.ndjson.gz" : "users.ndjson";
+        response.setContentType(gzip ? "application/gzip" : "application/x-ndjson");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"");
+        if (gzip) {
+            GZIPOutputStream out = new GZIPOutputStream(response.getOutputStream(), 64 * 1024);
+            userExportService.export(out);
+            out.finish();
+        } else {
+            OutputStream out = response.getOutputStream();
+            userExportService.export(out);
+        }
+    }
+
+    /**
+     * Type-ahead search over usernames and names, answered from memory. Username and name-word
+     * prefixes rank first, then close matches that tolerate typos.
+     */
+    @GetMapping("/search")
+    @PreAuthorize("hasRole('USER')")
+    public List<UserSearchResult> searchUsers(@RequestParam(value = "q") String query,
+            @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        if (limit < 1) {
+            throw new BadRequestException("Limit must be positive");
+        }
+        if (query.length() > MAX_SEARCH_QUERY_LENGTH) {
+            throw new BadRequestException("Query must be at most " + MAX_SEARCH_QUERY_LENGTH + " characters");
+        }
+        return userSearchIndex.search(query, Math.min(limit, maxSearchResults));
+    }
+
     @GetMapping("/me")
     @PreAuthorize("hasRole('USER')")
-    public User getCurrentUser(@CurrentUser UserPrincipal currentUser) {
-        return userRepository.findById(currentUser.getId())
+    public UserSummary getCurrentUser(@CurrentUser UserPrincipal currentUser) {
+        UserProfile profile = userRepository.findProfileById(currentUser.getId())
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        List<String> roles = currentUser.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList();
+        return new UserSummary(profile, roles);
+    }
+
+    /**
+     * Profiles for up to {@value UserBatchRequest#MAX_KEYS} usernames and as many ids in one call.
+     */
+    @PostMapping("/batch")
+    public UserBatchResponse getUserProfiles(@Valid @RequestBody UserBatchRequest batchRequest) {
+        return userBatchService.lookup(batchRequest.getUsernames(), batchRequest.getIds());
     }
 
     @GetMapping("/{username}")
-    public User getUserProfile(@PathVariable(value = "username") String username) {
-        return userRepository.findByUsername(username)
+    public PublicUserProfile getUserProfile(@PathVariable(value = "username") String username) {
+        return userProfileCache.get(username, userRepository::findPublicProfileByUsernameNormalized)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
     }
+
+    private static RoleName parseRole(String role) {
+        if (role == null || role.isBlank()) {
+            return null;
+        }
+        String name = role.trim().toUpperCase(Locale.ROOT);
+        try {
+            return RoleName.valueOf(name.startsWith("ROLE_") ? name : "ROLE_" + name);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Unknown role: " + role);
+        }
+    }
 }
@@ -0,0 +1,22 @@
+package com.kumar.wipro.api.dto;
+
+/**
+ * Whether a username and an email can still be registered; null for the one that was not asked about.
+ */
+public class AvailabilityResponse {
+    private final Boolean usernameAvailable;
+    private final Boolean emailAvailable;
+
+    public AvailabilityResponse(Boolean usernameAvailable, Boolean emailAvailable) {
+        this.usernameAvailable = usernameAvailable;
+        this.emailAvailable = emailAvailable;
+    }
+
+    public Boolean getUsernameAvailable() {
+        return usernameAvailable;
+    }
+
+    public Boolean getEmailAvailable() {
+        return emailAvailable;
+    }
+}
@@ -0,0 +1,29 @@
+package com.kumar.wipro.api.dto;
+
+/**
+ * What anyone may see of a user: enough to display and link them, but not their email. Selected
+ * straight from the users table by a projection query, like {@link UserProfile}.
+ */
+public class PublicUserProfile {
+    private final Long id;
+    private final String name;
+    private final String username;
+
+    public PublicUserProfile(Long id, String name, String username) {
+        this.id = id;
+        this.name = name;
+        this.username = username;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+}
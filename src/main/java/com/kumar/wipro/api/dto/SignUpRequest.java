@@ -2,6 +2,7 @@ package com.kumar.wipro.api.dto;
 
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 
 public class SignUpRequest {
@@ -11,6 +12,7 @@ public class SignUpRequest {
 
     @NotBlank
     @Size(min = 3, max = 15)
+    @Pattern(regexp = "[^@]*", message = "must not contain '@'")
     private String username;
 
     @NotBlank
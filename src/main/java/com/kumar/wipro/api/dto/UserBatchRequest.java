@@ -0,0 +1,33 @@
+package com.kumar.wipro.api.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+public class UserBatchRequest {
+    public static final int MAX_KEYS = 1000;
+
+    @Size(max = MAX_KEYS)
+    private List<@NotNull String> usernames = new ArrayList<>();
+
+    @Size(max = MAX_KEYS)
+    private List<@NotNull Long> ids = new ArrayList<>();
+
+    public List<String> getUsernames() {
+        return usernames;
+    }
+
+    public void setUsernames(List<String> usernames) {
+        this.usernames = usernames == null ? new ArrayList<>() : usernames;
+    }
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids == null ? new ArrayList<>() : ids;
+    }
+}
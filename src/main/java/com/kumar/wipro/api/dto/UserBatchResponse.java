@@ -0,0 +1,39 @@
+package com.kumar.wipro.api.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Profiles for a batch lookup, keyed by the username or id that was asked for, in request order.
+ * Keys that matched no user are listed under {@code missingUsernames} and {@code missingIds}.
+ */
+public class UserBatchResponse {
+    private final Map<String, PublicUserProfile> usernames;
+    private final Map<Long, PublicUserProfile> ids;
+    private final List<String> missingUsernames;
+    private final List<Long> missingIds;
+
+    public UserBatchResponse(Map<String, PublicUserProfile> usernames, Map<Long, PublicUserProfile> ids,
+            List<String> missingUsernames, List<Long> missingIds) {
+        this.usernames = usernames;
+        this.ids = ids;
+        this.missingUsernames = missingUsernames;
+        this.missingIds = missingIds;
+    }
+
+    public Map<String, PublicUserProfile> getUsernames() {
+        return usernames;
+    }
+
+    public Map<Long, PublicUserProfile> getIds() {
+        return ids;
+    }
+
+    public List<String> getMissingUsernames() {
+        return missingUsernames;
+    }
+
+    public List<Long> getMissingIds() {
+        return missingIds;
+    }
+}
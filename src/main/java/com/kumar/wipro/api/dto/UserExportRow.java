@@ -0,0 +1,43 @@
+package com.kumar.wipro.api.dto;
+
+import com.kumar.wipro.api.model.RoleName;
+
+/**
+ * One user/role pair of the export query. A user with several roles spans consecutive rows; one
+ * without roles has a single row with a null role.
+ */
+public class UserExportRow {
+    private final Long id;
+    private final String name;
+    private final String username;
+    private final String email;
+    private final RoleName role;
+
+    public UserExportRow(Long id, String name, String username, String email, RoleName role) {
+        this.id = id;
+        this.name = name;
+        this.username = username;
+        this.email = email;
+        this.role = role;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public RoleName getRole() {
+        return role;
+    }
+}
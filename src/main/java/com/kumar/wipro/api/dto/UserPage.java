@@ -0,0 +1,25 @@
+package com.kumar.wipro.api.dto;
+
+import java.util.List;
+
+/**
+ * One page of the user listing. Pass {@code nextCursor} as {@code after} to get the next page; it is
+ * null on the last page.
+ */
+public class UserPage {
+    private final List<UserProfile> users;
+    private final Long nextCursor;
+
+    public UserPage(List<UserProfile> users, Long nextCursor) {
+        this.users = users;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<UserProfile> getUsers() {
+        return users;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+}
@@ -0,0 +1,36 @@
+package com.kumar.wipro.api.dto;
+
+/**
+ * A user's profile including their email, for the user themselves and for admins; anyone else gets a
+ * {@link PublicUserProfile}. Selected straight from the users table by a projection query, so it never
+ * carries the password hash or touches the roles collection.
+ */
+public class UserProfile {
+    private final Long id;
+    private final String name;
+    private final String username;
+    private final String email;
+
+    public UserProfile(Long id, String name, String username, String email) {
+        this.id = id;
+        this.name = name;
+        this.username = username;
+        this.email = email;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+}
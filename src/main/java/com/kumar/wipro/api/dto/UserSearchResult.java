@@ -0,0 +1,28 @@
+package com.kumar.wipro.api.dto;
+
+/**
+ * A type-ahead match: just what a suggestion list shows.
+ */
+public class UserSearchResult {
+    private final Long id;
+    private final String username;
+    private final String name;
+
+    public UserSearchResult(Long id, String username, String name) {
+        this.id = id;
+        this.username = username;
+        this.name = name;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
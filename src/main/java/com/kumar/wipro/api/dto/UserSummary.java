@@ -0,0 +1,42 @@
+package com.kumar.wipro.api.dto;
+
+import java.util.List;
+
+/**
+ * The signed-in user's own profile, with the roles taken from the authenticated principal.
+ */
+public class UserSummary {
+    private Long id;
+    private String name;
+    private String username;
+    private String email;
+    private List<String> roles;
+
+    public UserSummary(UserProfile profile, List<String> roles) {
+        this.id = profile.getId();
+        this.name = profile.getName();
+        this.username = profile.getUsername();
+        this.email = profile.getEmail();
+        this.roles = roles;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public List<String> getRoles() {
+        return roles;
+    }
+}
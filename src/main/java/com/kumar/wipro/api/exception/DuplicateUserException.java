@@ -0,0 +1,16 @@
+package com.kumar.wipro.api.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class DuplicateUserException extends RuntimeException {
+
+    public static final String USERNAME_TAKEN = "Username is already taken!";
+
+    public static final String EMAIL_IN_USE = "Email Address already in use!";
+
+    public DuplicateUserException(String message) {
+        super(message);
+    }
+}
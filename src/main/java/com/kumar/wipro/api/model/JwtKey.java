@@ -0,0 +1,67 @@
+package com.kumar.wipro.api.model;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * One ES256 signing key, shared by every instance through the database. The private key is stored
+ * encrypted with a key derived from {@code app.jwtSecret}; the public key is stored as is.
+ */
+@Entity
+@Table(name = "jwt_signing_keys")
+public class JwtKey {
+    @Id
+    @Column(length = 16)
+    private String kid;
+
+    // X.509 SubjectPublicKeyInfo
+    @Column(name = "public_key", length = 128, nullable = false)
+    private byte[] publicKey;
+
+    // AES-GCM nonce followed by the sealed PKCS#8 private key
+    @Column(name = "encrypted_private_key", length = 256, nullable = false)
+    private byte[] encryptedPrivateKey;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    // Published from creation on, signs from here on
+    @Column(name = "activates_at", nullable = false)
+    private Instant activatesAt;
+
+    public JwtKey() {
+
+    }
+
+    public JwtKey(String kid, byte[] publicKey, byte[] encryptedPrivateKey, Instant createdAt, Instant activatesAt) {
+        this.kid = kid;
+        this.publicKey = publicKey;
+        this.encryptedPrivateKey = encryptedPrivateKey;
+        this.createdAt = createdAt;
+        this.activatesAt = activatesAt;
+    }
+
+    public String getKid() {
+        return kid;
+    }
+
+    public byte[] getPublicKey() {
+        return publicKey;
+    }
+
+    public byte[] getEncryptedPrivateKey() {
+        return encryptedPrivateKey;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getActivatesAt() {
+        return activatesAt;
+    }
+}
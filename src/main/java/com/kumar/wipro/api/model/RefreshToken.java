@@ -0,0 +1,124 @@
+package com.kumar.wipro.api.model;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * One opaque refresh token. Only the SHA-256 of the token is stored; every token of a rotation
+ * chain shares the family id so that replaying a used token can revoke the whole chain.
+ */
+@Entity
+@Table(name = "refresh_tokens", indexes = {
+        @Index(name = "uk_refresh_tokens_token_hash", columnList = "token_hash", unique = true),
+        @Index(name = "ix_refresh_tokens_expires_at", columnList = "expires_at"),
+        @Index(name = "ix_refresh_tokens_family_id", columnList = "family_id")
+})
+public class RefreshToken {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "token_hash", length = 32, nullable = false)
+    private byte[] tokenHash;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "family_id", nullable = false)
+    private long familyId;
+
+    @Column(name = "token_version", nullable = false)
+    private int tokenVersion;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @Column(name = "used_at")
+    private Instant usedAt;
+
+    @Column(nullable = false)
+    private boolean revoked;
+
+    public RefreshToken() {
+
+    }
+
+    public RefreshToken(byte[] tokenHash, Long userId, long familyId, int tokenVersion, Instant expiresAt) {
+        this.tokenHash = tokenHash;
+        this.userId = userId;
+        this.familyId = familyId;
+        this.tokenVersion = tokenVersion;
+        this.expiresAt = expiresAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public byte[] getTokenHash() {
+        return tokenHash;
+    }
+
+    public void setTokenHash(byte[] tokenHash) {
+        this.tokenHash = tokenHash;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public long getFamilyId() {
+        return familyId;
+    }
+
+    public void setFamilyId(long familyId) {
+        this.familyId = familyId;
+    }
+
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
+
+    public void setTokenVersion(int tokenVersion) {
+        this.tokenVersion = tokenVersion;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public Instant getUsedAt() {
+        return usedAt;
+    }
+
+    public void setUsedAt(Instant usedAt) {
+        this.usedAt = usedAt;
+    }
+
+    public boolean isRevoked() {
+        return revoked;
+    }
+
+    public void setRevoked(boolean revoked) {
+        this.revoked = revoked;
+    }
+}
@@ -1,12 +1,14 @@
 package com.kumar.wipro.api.model;
 
 import java.util.HashSet;
+import java.util.Locale;
 import java.util.Set;
 
-import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.ColumnDefault;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -22,14 +24,20 @@ import jakarta.validation.constraints.Size;
 
 @Entity
 @Table(name = "users", uniqueConstraints = {
-        @UniqueConstraint(columnNames = {
-            "username"
+        @UniqueConstraint(name = User.USERNAME_CONSTRAINT, columnNames = {
+            "username_normalized"
         }),
-        @UniqueConstraint(columnNames = {
-            "email"
+        @UniqueConstraint(name = User.EMAIL_CONSTRAINT, columnNames = {
+            "email_normalized"
         })
 })
+@EntityListeners(UserChangeListener.class)
 public class User {
+    // Named so a violation can be told apart when signup relies on them
+    public static final String USERNAME_CONSTRAINT = "uk_users_username";
+
+    public static final String EMAIL_CONSTRAINT = "uk_users_email";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -42,16 +50,29 @@ public class User {
     @Size(max = 15)
     private String username;
 
-    @NaturalId
     @NotBlank
     @Size(max = 40)
     @Email
     private String email;
 
+    // Lower-cased copies that logins are looked up by, so usernames and emails are case-insensitive.
+    // The setters always fill them; they are nullable only so the columns can be added to an existing
+    // table, whose rows DataInitializer backfills at startup
+    @Column(length = 15)
+    private String usernameNormalized;
+
+    @Column(length = 40)
+    private String emailNormalized;
+
     @NotBlank
     @Size(max = 100)
     private String password;
 
+    // Bumped to invalidate every token issued to this user so far
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private int tokenVersion;
+
     @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(name = "user_roles",
             joinColumns = @JoinColumn(name = "user_id"),
@@ -64,11 +85,15 @@ public class User {
 
     public User(String name, String username, String email, String password) {
         this.name = name;
-        this.username = username;
-        this.email = email;
+        setUsername(username);
+        setEmail(email);
         this.password = password;
     }
 
+    public static String normalize(String usernameOrEmail) {
+        return usernameOrEmail == null ? null : usernameOrEmail.trim().toLowerCase(Locale.ROOT);
+    }
+
     public Long getId() {
         return id;
     }
@@ -91,6 +116,7 @@ public class User {
 
     public void setUsername(String username) {
         this.username = username;
+        this.usernameNormalized = normalize(username);
     }
 
     public String getEmail() {
@@ -99,6 +125,15 @@ public class User {
 
     public void setEmail(String email) {
         this.email = email;
+        this.emailNormalized = normalize(email);
+    }
+
+    public String getUsernameNormalized() {
+        return usernameNormalized;
+    }
+
+    public String getEmailNormalized() {
+        return emailNormalized;
     }
 
     public String getPassword() {
@@ -109,6 +144,14 @@ public class User {
         this.password = password;
     }
 
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
+
+    public void setTokenVersion(int tokenVersion) {
+        this.tokenVersion = tokenVersion;
+    }
+
     public Set<Role> getRoles() {
         return roles;
     }
@@ -0,0 +1,25 @@
+package com.kumar.wipro.api.model;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * Turns entity writes to {@link User} into {@link UserChangedEvent}s. Hibernate creates it through
+ * Spring, which injects the publisher.
+ */
+public class UserChangeListener {
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    void userChanged(User user) {
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId(), user.getUsername()));
+    }
+}
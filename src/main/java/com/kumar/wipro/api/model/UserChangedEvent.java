@@ -0,0 +1,8 @@
+package com.kumar.wipro.api.model;
+
+/**
+ * Published whenever a user row is inserted, updated or deleted, through the entity or through a
+ * bulk update query. Username is the current one when known, otherwise null.
+ */
+public record UserChangedEvent(Long userId, String username) {
+}
@@ -0,0 +1,24 @@
+package com.kumar.wipro.api.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.kumar.wipro.api.model.JwtKey;
+
+@Repository
+public interface JwtKeyRepository extends JpaRepository<JwtKey, String> {
+    List<JwtKey> findAllByOrderByActivatesAtAsc();
+
+    // Several instances may drop the same keys; deleting one that is already gone is not an error
+    @Transactional
+    @Modifying
+    @Query("delete from JwtKey k where k.kid in :kids")
+    int deleteByKidIn(@Param("kids") Collection<String> kids);
+}
@@ -0,0 +1,33 @@
+package com.kumar.wipro.api.repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.kumar.wipro.api.model.RefreshToken;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+    Optional<RefreshToken> findByTokenHash(byte[] tokenHash);
+
+    /**
+     * Marks the token as used only if nobody used it before; returns 0 when the token was already spent.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update RefreshToken r set r.usedAt = :now where r.id = :id and r.usedAt is null and r.revoked = false")
+    int markUsed(@Param("id") Long id, @Param("now") Instant now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update RefreshToken r set r.revoked = true where r.familyId = :familyId")
+    int revokeFamily(@Param("familyId") long familyId);
+
+    @Query("select r.id from RefreshToken r where r.expiresAt < :now")
+    List<Long> findExpiredIds(@Param("now") Instant now, Pageable pageable);
+}
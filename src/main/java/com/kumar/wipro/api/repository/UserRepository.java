@@ -1,21 +1,93 @@
 package com.kumar.wipro.api.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.kumar.wipro.api.dto.PublicUserProfile;
+import com.kumar.wipro.api.dto.UserProfile;
 import com.kumar.wipro.api.model.User;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
     Optional<User> findByEmail(String email);
 
     Optional<User> findByUsernameOrEmail(String username, String email);
 
     Optional<User> findByUsername(String username);
 
+    // Public columns only, for responses; no entity is managed and roles are not touched
+
+    @Query("select new com.kumar.wipro.api.dto.PublicUserProfile(u.id, u.name, u.username) "
+            + "from User u where u.usernameNormalized = :usernameNormalized")
+    Optional<PublicUserProfile> findPublicProfileByUsernameNormalized(@Param("usernameNormalized") String usernameNormalized);
+
+    @Query("select new com.kumar.wipro.api.dto.UserProfile(u.id, u.name, u.username, u.email) "
+            + "from User u where u.id = :id")
+    Optional<UserProfile> findProfileById(@Param("id") Long id);
+
+    @Query("select new com.kumar.wipro.api.dto.PublicUserProfile(u.id, u.name, u.username) "
+            + "from User u where u.usernameNormalized in :usernamesNormalized")
+    List<PublicUserProfile> findPublicProfilesByUsernameNormalizedIn(
+            @Param("usernamesNormalized") Collection<String> usernamesNormalized);
+
+    @Query("select new com.kumar.wipro.api.dto.PublicUserProfile(u.id, u.name, u.username) "
+            + "from User u where u.id in :ids")
+    List<PublicUserProfile> findPublicProfilesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Authentication paths build a principal from the roles, so they are fetched in the same query
+
+    @EntityGraph(attributePaths = "roles")
+    Optional<User> findWithRolesByUsernameNormalized(String usernameNormalized);
+
+    @EntityGraph(attributePaths = "roles")
+    Optional<User> findWithRolesByEmailNormalized(String emailNormalized);
+
+    @EntityGraph(attributePaths = "roles")
+    Optional<User> findWithRolesById(Long id);
+
+    // Lets sign-in throttling charge an email and its username to the same account
+    @Query("select u.usernameNormalized from User u where u.emailNormalized = :emailNormalized")
+    Optional<String> findUsernameNormalizedByEmailNormalized(@Param("emailNormalized") String emailNormalized);
+
     Boolean existsByUsername(String username);
 
     Boolean existsByEmail(String email);
+
+    Boolean existsByUsernameNormalized(String usernameNormalized);
+
+    Boolean existsByEmailNormalized(String emailNormalized);
+
+    @Query("select u.tokenVersion from User u where u.id = :id")
+    Optional<Integer> findTokenVersionById(@Param("id") Long id);
+
+    // Rows of (id, tokenVersion); ids of users that no longer exist are simply missing
+    @Query("select u.id, u.tokenVersion from User u where u.id in :ids")
+    List<Object[]> findTokenVersionsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update User u set u.tokenVersion = u.tokenVersion + 1 where u.id = :id")
+    int incrementTokenVersion(@Param("id") Long id);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update User u set u.password = :password where u.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
+
+    // Fills the lookup columns of rows written before they existed, the way User.normalize would
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update User u set u.usernameNormalized = coalesce(u.usernameNormalized, lower(trim(u.username))), "
+            + "u.emailNormalized = coalesce(u.emailNormalized, lower(trim(u.email))) "
+            + "where u.usernameNormalized is null or u.emailNormalized is null")
+    int backfillNormalizedColumns();
 }
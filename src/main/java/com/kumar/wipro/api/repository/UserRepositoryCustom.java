@@ -0,0 +1,35 @@
+package com.kumar.wipro.api.repository;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import com.kumar.wipro.api.dto.UserExportRow;
+import com.kumar.wipro.api.dto.UserProfile;
+import com.kumar.wipro.api.model.RoleName;
+
+public interface UserRepositoryCustom {
+
+    /**
+     * Up to {@code limit} profiles with an id greater than {@code afterId}, in id order. Role and
+     * username prefix (matched case-insensitively) are optional filters; pass null to skip them.
+     */
+    List<UserProfile> findProfilePage(long afterId, RoleName role, String usernamePrefix, int limit);
+
+    /**
+     * Every user joined with its roles, ordered by id, read through a forward-only cursor that
+     * fetches {@code fetchSize} rows at a time. Must be consumed and closed inside a transaction.
+     */
+    Stream<UserExportRow> streamExportRows(int fetchSize);
+
+    /**
+     * Every user's profile in id order, read through a forward-only cursor like
+     * {@link #streamExportRows(int)}.
+     */
+    Stream<UserProfile> streamProfiles(int fetchSize);
+
+    /**
+     * Every user's normalized username and email, as a two-element array in that order, read through
+     * a forward-only cursor like {@link #streamExportRows(int)}.
+     */
+    Stream<Object[]> streamLoginKeys(int fetchSize);
+}
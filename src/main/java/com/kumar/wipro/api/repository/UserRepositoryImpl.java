@@ -0,0 +1,88 @@
+package com.kumar.wipro.api.repository;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+
+import com.kumar.wipro.api.dto.UserExportRow;
+import com.kumar.wipro.api.dto.UserProfile;
+import com.kumar.wipro.api.model.RoleName;
+import com.kumar.wipro.api.model.User;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+/**
+ * Keyset pagination over users: each page starts after the last id of the previous one, so the
+ * database seeks straight to it on the primary key instead of reading and discarding an OFFSET's
+ * worth of rows. Only the filters that are set end up in the query.
+ *
+ * The export and the rebuilds of in-memory structures read scalar columns through a cursor, so no
+ * entity ever enters the persistence context and memory use does not grow with the number of users.
+ */
+public class UserRepositoryImpl implements UserRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<UserProfile> findProfilePage(long afterId, RoleName role, String usernamePrefix, int limit) {
+        StringBuilder jpql = new StringBuilder(
+                "select new com.kumar.wipro.api.dto.UserProfile(u.id, u.name, u.username, u.email) from User u");
+        if (role != null) {
+            jpql.append(" join u.roles r");
+        }
+        jpql.append(" where u.id > :afterId");
+        if (role != null) {
+            jpql.append(" and r.name = :role");
+        }
+        if (usernamePrefix != null) {
+            jpql.append(" and u.usernameNormalized like :prefix escape '\\'");
+        }
+        jpql.append(" order by u.id");
+
+        TypedQuery<UserProfile> query = entityManager.createQuery(jpql.toString(), UserProfile.class)
+                .setParameter("afterId", afterId)
+                .setMaxResults(limit);
+        if (role != null) {
+            query.setParameter("role", role);
+        }
+        if (usernamePrefix != null) {
+            query.setParameter("prefix", escapeLike(User.normalize(usernamePrefix)) + "%");
+        }
+        return query.getResultList();
+    }
+
+    @Override
+    public Stream<UserExportRow> streamExportRows(int fetchSize) {
+        return entityManager.createQuery("select new com.kumar.wipro.api.dto.UserExportRow("
+                + "u.id, u.name, u.username, u.email, r.name) "
+                + "from User u left join u.roles r order by u.id", UserExportRow.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    @Override
+    public Stream<UserProfile> streamProfiles(int fetchSize) {
+        return entityManager.createQuery("select new com.kumar.wipro.api.dto.UserProfile("
+                + "u.id, u.name, u.username, u.email) from User u order by u.id", UserProfile.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    @Override
+    public Stream<Object[]> streamLoginKeys(int fetchSize) {
+        return entityManager.createQuery("select u.usernameNormalized, u.emailNormalized from User u", Object[].class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,100 @@
+package com.kumar.wipro.api.security;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Encodes new passwords with one configured algorithm and cost and still verifies everything stored
+ * earlier.
+ *
+ * Hashes are stored as {id}hash, e.g. {bcrypt}$2a$12$..., so the algorithm and its parameters travel
+ * with each hash. Hashes without a prefix date from before this encoder and are BCrypt.
+ * {@link #upgradeEncoding} reports any hash whose algorithm or parameters differ from the current
+ * ones, in either direction, so it is re-encoded on the user's next successful login.
+ */
+public class AdaptivePasswordEncoder implements PasswordEncoder {
+
+    public static final String BCRYPT = "bcrypt";
+
+    public static final String ARGON2 = "argon2";
+
+    private static final int ARGON2_SALT_LENGTH = 16;
+
+    private static final int ARGON2_HASH_LENGTH = 32;
+
+    private final String encodingId;
+
+    private final int bcryptCost;
+
+    private final String argon2Parameters;
+
+    private final DelegatingPasswordEncoder delegate;
+
+    /**
+     * @param encodingId {@link #BCRYPT} or {@link #ARGON2}, the algorithm for new hashes
+     * @param bcryptCost log2 of the BCrypt rounds
+     * @param argon2MemoryKib Argon2id memory in KiB
+     * @param argon2Iterations Argon2id passes over that memory
+     * @param argon2Parallelism Argon2id lanes
+     */
+    public AdaptivePasswordEncoder(String encodingId, int bcryptCost, int argon2MemoryKib, int argon2Iterations,
+            int argon2Parallelism) {
+        this.encodingId = encodingId;
+        this.bcryptCost = bcryptCost;
+        this.argon2Parameters = "m=" + argon2MemoryKib + ",t=" + argon2Iterations + ",p=" + argon2Parallelism;
+
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptCost);
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(BCRYPT, bcrypt);
+        encoders.put(ARGON2, new Argon2PasswordEncoder(ARGON2_SALT_LENGTH, ARGON2_HASH_LENGTH, argon2Parallelism,
+                argon2MemoryKib, argon2Iterations));
+        if (!encoders.containsKey(encodingId)) {
+            throw new IllegalArgumentException("Unknown password encoding " + encodingId);
+        }
+
+        this.delegate = new DelegatingPasswordEncoder(encodingId, encoders);
+        this.delegate.setDefaultPasswordEncoderForMatches(bcrypt);
+    }
+
+    public String getEncodingId() {
+        return encodingId;
+    }
+
+    public int getBcryptCost() {
+        return bcryptCost;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return delegate.matches(rawPassword, encodedPassword);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.isEmpty()) {
+            return false;
+        }
+        if (!encodedPassword.startsWith("{" + encodingId + "}")) {
+            return true;
+        }
+
+        String hash = encodedPassword.substring(encodingId.length() + 2);
+        if (BCRYPT.equals(encodingId)) {
+            // $2a$12$...
+            return hash.length() < 7 || !hash.startsWith(String.format("%02d", bcryptCost), 4);
+        }
+        // $argon2id$v=19$m=19456,t=2,p=1$...
+        String[] parts = hash.split("\\$");
+        return parts.length < 4 || !argon2Parameters.equals(parts[3]);
+    }
+}
@@ -0,0 +1,373 @@
+package com.kumar.wipro.api.security;
+
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/**
+ * Verifier for exactly the HS512 tokens {@link JwtTokenProvider} issues, without going through JJWT.
+ *
+ * Segments are base64url-decoded straight into per-thread buffers, the HMAC-SHA512 is computed with a
+ * reused {@link MessageDigest} and compared in constant time, and a small scanner over the payload
+ * bytes reads exp and checks that sub and ver have the shape we issue. Deciding whether a token is
+ * valid therefore allocates nothing; the claims of a valid token are still materialized by the caller,
+ * once per token, since the principal and revocation checks need all of them.
+ *
+ * Tokens outside that shape (another header, an nbf claim, a non-numeric subject, escapes in claim
+ * names, oversized tokens) are not handled here: {@link #verify} returns null and the caller falls back
+ * to the general parser, so the two always agree.
+ */
+public final class Hs512TokenVerifier {
+
+    /** Base64url of {"alg":"HS512"}, the header JJWT writes for our HS512 tokens. */
+    static final String HEADER = "eyJhbGciOiJIUzUxMiJ9";
+
+    static final int MAX_TOKEN_LENGTH = 4096;
+
+    private static final int BLOCK_SIZE = 128;
+
+    private static final int MAC_LENGTH = 64;
+
+    // 64 signature bytes are 86 base64url characters without padding
+    private static final int SIGNATURE_LENGTH = 86;
+
+    private static final byte[] BASE64URL = new byte[128];
+
+    private static final byte[] SUB = {'s', 'u', 'b'};
+    private static final byte[] EXP = {'e', 'x', 'p'};
+    private static final byte[] VER = {'v', 'e', 'r'};
+    private static final byte[] NBF = {'n', 'b', 'f'};
+
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    static {
+        Arrays.fill(BASE64URL, (byte) -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+        for (int i = 0; i < alphabet.length(); i++) {
+            BASE64URL[alphabet.charAt(i)] = (byte) i;
+        }
+    }
+
+    private final byte[] innerPad = new byte[BLOCK_SIZE];
+
+    private final byte[] outerPad = new byte[BLOCK_SIZE];
+
+    public Hs512TokenVerifier(byte[] secret) {
+        byte[] key = secret.length > BLOCK_SIZE ? sha512().digest(secret) : secret;
+        for (int i = 0; i < BLOCK_SIZE; i++) {
+            byte b = i < key.length ? key[i] : 0;
+            innerPad[i] = (byte) (b ^ 0x36);
+            outerPad[i] = (byte) (b ^ 0x5c);
+        }
+    }
+
+    /**
+     * Verifies the token's signature and expiry as of {@code nowMillis}.
+     *
+     * Returns null if the token is not in the shape this verifier handles. Otherwise returns this
+     * thread's {@link Result}, which is overwritten by the next call on the same thread.
+     */
+    public Result verify(String token, long nowMillis) {
+        int length = token.length();
+        if (length > MAX_TOKEN_LENGTH || !token.startsWith(HEADER) || length <= HEADER.length()
+                || token.charAt(HEADER.length()) != '.') {
+            return null;
+        }
+        int payloadStart = HEADER.length() + 1;
+        int signatureStart = token.indexOf('.', payloadStart) + 1;
+        if (signatureStart <= payloadStart + 1 || length - signatureStart != SIGNATURE_LENGTH) {
+            return null;
+        }
+
+        Scratch scratch = SCRATCH.get();
+        Result result = scratch.result;
+        if (decode(token, signatureStart, length, scratch.signature) != MAC_LENGTH) {
+            return null;
+        }
+        int payloadLength = decode(token, payloadStart, signatureStart - 1, scratch.payload);
+        if (payloadLength < 0) {
+            return null;
+        }
+
+        // HMAC(K, m) = H((K ^ opad) || H((K ^ ipad) || m)), see RFC 2104
+        int signingInputLength = signatureStart - 1;
+        byte[] signingInput = scratch.signingInput;
+        for (int i = 0; i < signingInputLength; i++) {
+            signingInput[i] = (byte) token.charAt(i);
+        }
+        MessageDigest digest = scratch.digest;
+        try {
+            digest.update(innerPad);
+            digest.update(signingInput, 0, signingInputLength);
+            digest.digest(scratch.mac, 0, MAC_LENGTH);
+            digest.update(outerPad);
+            digest.update(scratch.mac, 0, MAC_LENGTH);
+            digest.digest(scratch.mac, 0, MAC_LENGTH);
+        } catch (DigestException ex) {
+            throw new IllegalStateException(ex);
+        }
+        boolean signatureMatches = MessageDigest.isEqual(scratch.mac, scratch.signature);
+
+        // A payload JJWT would reject as malformed is left to JJWT, even when the signature is wrong
+        if (!result.scan(scratch.payload, payloadLength)) {
+            return null;
+        }
+        if (!signatureMatches) {
+            result.status = JwtVerificationResult.Status.INVALID_SIGNATURE;
+            return result;
+        }
+        // Same rule as JJWT: expired once the current time is past exp
+        if (nowMillis > result.expiresAt) {
+            result.status = JwtVerificationResult.Status.EXPIRED;
+        }
+        return result;
+    }
+
+    /**
+     * Decodes unpadded base64url from {@code token[from, to)} into {@code out}, returning the number of
+     * bytes written or -1 if the input is not valid base64url or does not fit.
+     */
+    private static int decode(String token, int from, int to, byte[] out) {
+        int length = to - from;
+        if (length % 4 == 1 || length * 3 / 4 > out.length) {
+            return -1;
+        }
+
+        int written = 0;
+        int bits = 0;
+        int bitCount = 0;
+        for (int i = from; i < to; i++) {
+            char c = token.charAt(i);
+            int value = c < 128 ? BASE64URL[c] : -1;
+            if (value < 0) {
+                return -1;
+            }
+            bits = (bits << 6) | value;
+            bitCount += 6;
+            if (bitCount >= 8) {
+                bitCount -= 8;
+                out[written++] = (byte) (bits >> bitCount);
+            }
+        }
+        return written;
+    }
+
+    private static MessageDigest sha512() {
+        try {
+            return MessageDigest.getInstance("SHA-512");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-512 is not available", ex);
+        }
+    }
+
+    /**
+     * What a verification found. Only meaningful until the next verification on the same thread.
+     */
+    public static final class Result {
+        private JwtVerificationResult.Status status;
+        private long expiresAt;
+        private byte[] payload;
+        private int payloadLength;
+
+        public JwtVerificationResult.Status getStatus() {
+            return status;
+        }
+
+        public boolean isValid() {
+            return status == JwtVerificationResult.Status.VALID;
+        }
+
+        public long getExpiresAt() {
+            return expiresAt;
+        }
+
+        /** The decoded JSON payload, valid for the first {@link #getPayloadLength()} bytes. */
+        public byte[] getPayload() {
+            return payload;
+        }
+
+        public int getPayloadLength() {
+            return payloadLength;
+        }
+
+        private Result set(JwtVerificationResult.Status status, byte[] payload, int payloadLength) {
+            this.status = status;
+            this.payload = payload;
+            this.payloadLength = payloadLength;
+            this.expiresAt = 0;
+            return this;
+        }
+
+        /**
+         * Reads exp from a flat JSON object and checks sub is a numeric string and ver a small number.
+         * Returns false if the payload is not in the shape we issue, leaving it to the general parser.
+         */
+        private boolean scan(byte[] json, int length) {
+            set(JwtVerificationResult.Status.VALID, json, length);
+            boolean hasSubject = false;
+            boolean hasExpiry = false;
+
+            int pos = skipWhitespace(json, 0, length);
+            if (pos >= length || json[pos] != '{') {
+                return false;
+            }
+            pos = skipWhitespace(json, pos + 1, length);
+            if (pos < length && json[pos] == '}') {
+                return false;
+            }
+
+            while (pos < length) {
+                if (json[pos] != '"') {
+                    return false;
+                }
+                int keyStart = pos + 1;
+                int keyEnd = keyStart;
+                while (keyEnd < length && json[keyEnd] != '"') {
+                    if (json[keyEnd] == '\\') {
+                        return false;
+                    }
+                    keyEnd++;
+                }
+                pos = skipWhitespace(json, keyEnd + 1, length);
+                if (pos >= length || json[pos] != ':') {
+                    return false;
+                }
+                pos = skipWhitespace(json, pos + 1, length);
+
+                if (isKey(json, keyStart, keyEnd, SUB)) {
+                    if (pos >= length || json[pos] != '"') {
+                        return false;
+                    }
+                    int end = digitsEnd(json, pos + 1, length);
+                    if (end < 0 || end >= length || json[end] != '"') {
+                        return false;
+                    }
+                    hasSubject = true;
+                    pos = end + 1;
+                } else if (isKey(json, keyStart, keyEnd, EXP)) {
+                    int end = digitsEnd(json, pos, length);
+                    if (end < 0 || end - pos > 12) {
+                        return false;
+                    }
+                    expiresAt = parseLong(json, pos, end) * 1000;
+                    hasExpiry = true;
+                    pos = end;
+                } else if (isKey(json, keyStart, keyEnd, VER)) {
+                    int end = digitsEnd(json, pos, length);
+                    if (end < 0 || end - pos > 9) {
+                        return false;
+                    }
+                    pos = end;
+                } else if (isKey(json, keyStart, keyEnd, NBF)) {
+                    return false;
+                } else {
+                    pos = skipValue(json, pos, length);
+                    if (pos < 0) {
+                        return false;
+                    }
+                }
+
+                pos = skipWhitespace(json, pos, length);
+                if (pos >= length) {
+                    return false;
+                }
+                if (json[pos] == '}') {
+                    return skipWhitespace(json, pos + 1, length) == length && hasSubject && hasExpiry;
+                }
+                if (json[pos] != ',') {
+                    return false;
+                }
+                pos = skipWhitespace(json, pos + 1, length);
+            }
+            return false;
+        }
+
+        private static boolean isKey(byte[] json, int start, int end, byte[] key) {
+            return end - start == key.length && Arrays.equals(json, start, end, key, 0, key.length);
+        }
+
+        /** End of a run of 1 to 18 digits starting at {@code pos}, or -1 if there is none. */
+        private static int digitsEnd(byte[] json, int pos, int length) {
+            int end = pos;
+            while (end < length && json[end] >= '0' && json[end] <= '9') {
+                end++;
+            }
+            if (end == pos || end - pos > 18 || (end < length && isNumberPart(json[end]))) {
+                return -1;
+            }
+            return end;
+        }
+
+        private static boolean isNumberPart(byte b) {
+            return b == '.' || b == 'e' || b == 'E' || b == '-' || b == '+';
+        }
+
+        private static long parseLong(byte[] json, int start, int end) {
+            long value = 0;
+            for (int i = start; i < end; i++) {
+                value = value * 10 + (json[i] - '0');
+            }
+            return value;
+        }
+
+        private static int skipWhitespace(byte[] json, int pos, int length) {
+            while (pos < length && (json[pos] == ' ' || json[pos] == '\t' || json[pos] == '\n' || json[pos] == '\r')) {
+                pos++;
+            }
+            return pos;
+        }
+
+        /**
+         * Skips any JSON value, returning the position after it or -1 if it is cut off. Values are not
+         * validated here; claims are parsed properly before they are used.
+         */
+        private static int skipValue(byte[] json, int pos, int length) {
+            int depth = 0;
+            while (pos < length) {
+                byte b = json[pos];
+                if (b == '"') {
+                    pos = skipString(json, pos, length);
+                    if (pos < 0 || depth == 0) {
+                        return pos;
+                    }
+                    continue;
+                }
+                if (b == '{' || b == '[') {
+                    depth++;
+                } else if (b == '}' || b == ']') {
+                    if (depth == 0) {
+                        return pos;
+                    }
+                    if (--depth == 0) {
+                        return pos + 1;
+                    }
+                } else if (b == ',' && depth == 0) {
+                    return pos;
+                }
+                pos++;
+            }
+            return depth == 0 ? pos : -1;
+        }
+
+        private static int skipString(byte[] json, int pos, int length) {
+            for (int i = pos + 1; i < length; i++) {
+                if (json[i] == '\\') {
+                    i++;
+                } else if (json[i] == '"') {
+                    return i + 1;
+                }
+            }
+            return -1;
+        }
+    }
+
+    private static final class Scratch {
+        private final MessageDigest digest = sha512();
+        private final byte[] signingInput = new byte[MAX_TOKEN_LENGTH];
+        private final byte[] payload = new byte[MAX_TOKEN_LENGTH];
+        private final byte[] signature = new byte[MAC_LENGTH];
+        private final byte[] mac = new byte[MAC_LENGTH];
+        private final Result result = new Result();
+    }
+}
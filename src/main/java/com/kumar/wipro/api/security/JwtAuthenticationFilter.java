@@ -5,15 +5,16 @@ import java.io.IOException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
-import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import com.kumar.wipro.api.service.CustomUserDetailsService;
+import com.kumar.wipro.api.service.TokenVersionService;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -29,18 +30,29 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private CustomUserDetailsService customUserDetailsService;
 
+    @Autowired
+    private TokenVersionService tokenVersionService;
+
+    // Only present with app.authMode=session
+    @Autowired(required = false)
+    private SessionTokenService sessionTokenService;
+
+    @Value("${app.jwtStatelessPrincipal:true}")
+    private boolean statelessPrincipal;
+
     private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         try {
-            String jwt = getJwtFromRequest(request);
+            String token = getTokenFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                Long userId = tokenProvider.getUserIdFromToken(jwt);
+            UserDetails userDetails = sessionTokenService != null && SessionTokenService.isSessionToken(token)
+                    ? authenticateSession(token)
+                    : authenticateJwt(token);
 
-                UserDetails userDetails = customUserDetailsService.loadUserById(userId);
+            if (userDetails != null) {
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                         userDetails, null, userDetails.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -54,11 +66,39 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
-    private String getJwtFromRequest(HttpServletRequest request) {
-        String bearerToken = request.getHeader("Authorization");
-        if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
-            return bearerToken.substring(7);
+    private UserDetails authenticateJwt(String jwt) {
+        JwtVerificationResult verification = tokenProvider.verify(jwt);
+
+        if (verification.isValid() && isCurrentTokenVersion(verification)) {
+            return loadUserDetails(verification);
+        }
+        return null;
+    }
+
+    private UserDetails authenticateSession(String token) {
+        UserPrincipal principal = sessionTokenService.authenticate(token);
+
+        if (principal != null && tokenVersionService.isCurrent(principal.getId(), principal.getTokenVersion())) {
+            return principal;
         }
         return null;
     }
+
+    private boolean isCurrentTokenVersion(JwtVerificationResult verification) {
+        long userId = JwtTokenProvider.getUserId(verification.getClaims());
+        return tokenVersionService.isCurrent(userId, JwtTokenProvider.getTokenVersion(verification.getClaims()));
+    }
+
+    private UserDetails loadUserDetails(JwtVerificationResult verification) {
+        // The token was signed by us, so its identity claims are trusted as-is
+        if (statelessPrincipal && verification.getPrincipal() != null) {
+            return verification.getPrincipal();
+        }
+
+        return customUserDetailsService.loadUserById(JwtTokenProvider.getUserId(verification.getClaims()));
+    }
+
+    private String getTokenFromRequest(HttpServletRequest request) {
+        return JwtTokenProvider.resolveBearerToken(request.getHeader("Authorization"));
+    }
 }
@@ -0,0 +1,324 @@
+package com.kumar.wipro.api.security;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.SecureRandom;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.LinkedHashMap;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import com.kumar.wipro.api.model.JwtKey;
+import com.kumar.wipro.api.repository.JwtKeyRepository;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Holds the ES256 key pairs used for asymmetric token signing.
+ *
+ * Keys live in the database so every instance signs and verifies with the same ones, and a restart
+ * does not invalidate outstanding tokens. Each instance reloads them every
+ * {@code app.jwtKeyRefreshIntervalMs}, and right away when a token names a key id it does not know.
+ * A new key is created every {@code app.jwtKeyRotationIntervalMs} and published in the JWKS
+ * document {@code app.jwtKeyPublishLeadMs} before it starts signing, so verifiers holding a cached
+ * document already know it by then. A key is deleted once every token it signed has expired.
+ * Private keys are stored encrypted with a key derived from {@code app.jwtSecret}.
+ *
+ * Two instances rotating at the same moment may both add a key; both are published and the one
+ * activating last takes over, which costs nothing but an extra JWKS entry.
+ */
+@Component
+public class JwtSigningKeys {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtSigningKeys.class);
+
+    /** How long verifiers may cache the JWKS document. */
+    public static final long JWKS_MAX_AGE_SECONDS = 300;
+
+    private static final int P256_COORDINATE_BYTES = 32;
+
+    private static final int GCM_NONCE_BYTES = 12;
+
+    private static final int GCM_TAG_BITS = 128;
+
+    // Unknown key ids trigger a reload, at most this often, so made-up ids cannot hammer the database
+    private static final long MIN_RELOAD_INTERVAL_MS = 1000;
+
+    private final SecureRandom random = new SecureRandom();
+
+    @Autowired
+    private JwtKeyRepository jwtKeyRepository;
+
+    @Value("${app.jwtAlgorithm:HS512}")
+    private SignatureAlgorithm jwtAlgorithm;
+
+    @Value("${app.jwtExpirationInMs}")
+    private long jwtExpirationInMs;
+
+    @Value("${app.jwtSecret}")
+    private String jwtSecret;
+
+    @Value("${app.jwtKeyRotationIntervalMs:86400000}")
+    private long rotationIntervalMs;
+
+    @Value("${app.jwtKeyPublishLeadMs:600000}")
+    private long publishLeadMs;
+
+    // ISO-8601 instant until which HS512 tokens are still accepted after a switch to ES256
+    @Value("${app.jwtHs512AcceptedUntil:}")
+    private String hs512AcceptedUntil;
+
+    private long hs512AcceptedUntilMillis;
+
+    private SecretKeySpec storageKey;
+
+    // Ordered by activation and replaced wholesale on reload, so reads never need a lock
+    private volatile List<SigningKey> keys = List.of();
+
+    private volatile long lastLoadedAt;
+
+    @PostConstruct
+    void init() {
+        if (jwtAlgorithm != SignatureAlgorithm.HS512 && jwtAlgorithm != SignatureAlgorithm.ES256) {
+            throw new IllegalStateException("Unsupported app.jwtAlgorithm " + jwtAlgorithm + ", expected HS512 or ES256");
+        }
+        if (publishLeadMs < JWKS_MAX_AGE_SECONDS * 1000) {
+            throw new IllegalStateException("app.jwtKeyPublishLeadMs must be at least the JWKS max-age of "
+                    + JWKS_MAX_AGE_SECONDS + " seconds");
+        }
+        if (!isAsymmetric()) {
+            hs512AcceptedUntilMillis = Long.MAX_VALUE;
+            return;
+        }
+        hs512AcceptedUntilMillis = StringUtils.hasText(hs512AcceptedUntil)
+                ? Instant.parse(hs512AcceptedUntil.trim()).toEpochMilli() : 0;
+        storageKey = new SecretKeySpec(sha256("jwt-signing-keys:" + jwtSecret), "AES");
+        refresh(System.currentTimeMillis());
+    }
+
+    public boolean isAsymmetric() {
+        return jwtAlgorithm == SignatureAlgorithm.ES256;
+    }
+
+    /**
+     * Whether tokens signed with the shared HS512 secret are still accepted: always while HS512 is
+     * the signing algorithm, and after a switch to ES256 only until {@code app.jwtHs512AcceptedUntil}.
+     */
+    public boolean acceptsHs512(long now) {
+        return now < hs512AcceptedUntilMillis;
+    }
+
+    public SigningKey current() {
+        return current(System.currentTimeMillis());
+    }
+
+    SigningKey current(long now) {
+        List<SigningKey> loaded = keys;
+        for (int i = loaded.size() - 1; i >= 0; i--) {
+            if (loaded.get(i).activatesAt() <= now) {
+                return loaded.get(i);
+            }
+        }
+        // Only pending keys, e.g. after the active one was deleted elsewhere; tokens stay verifiable
+        return loaded.isEmpty() ? null : loaded.get(0);
+    }
+
+    public PublicKey verificationKey(String kid) {
+        if (kid == null) {
+            return null;
+        }
+        SigningKey key = find(kid);
+        long now = System.currentTimeMillis();
+        if (key == null && isAsymmetric() && now - lastLoadedAt >= MIN_RELOAD_INTERVAL_MS) {
+            // Probably created by another instance since the last reload
+            synchronized (this) {
+                if (now - lastLoadedAt >= MIN_RELOAD_INTERVAL_MS) {
+                    keys = load(jwtKeyRepository.findAllByOrderByActivatesAtAsc());
+                    lastLoadedAt = now;
+                }
+            }
+            key = find(kid);
+        }
+        return key == null ? null : key.publicKey();
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwtKeyRefreshIntervalMs:60000}",
+            initialDelayString = "${app.jwtKeyRefreshIntervalMs:60000}")
+    public void scheduledRefresh() {
+        if (isAsymmetric()) {
+            refresh(System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Creates a key that starts signing once it has been published for {@code app.jwtKeyPublishLeadMs}.
+     */
+    public void rotate() {
+        rotate(System.currentTimeMillis());
+    }
+
+    synchronized void rotate(long now) {
+        jwtKeyRepository.save(generate(now, now + publishLeadMs));
+        keys = load(jwtKeyRepository.findAllByOrderByActivatesAtAsc());
+        lastLoadedAt = now;
+        logger.info("Published JWT signing key {}, signing with it from {}", keys.get(keys.size() - 1).kid(),
+                Instant.ofEpochMilli(now + publishLeadMs));
+    }
+
+    /**
+     * Reloads the shared keys, deletes those no unexpired token can have been signed with, and adds
+     * a key when the newest one is due for rotation.
+     */
+    synchronized void refresh(long now) {
+        List<JwtKey> stored = jwtKeyRepository.findAllByOrderByActivatesAtAsc();
+        List<String> expired = new ArrayList<>();
+        for (int i = 0; i + 1 < stored.size(); i++) {
+            // Signed until its successor took over, so it is needed until that plus a token's lifetime
+            if (stored.get(i + 1).getActivatesAt().toEpochMilli() + jwtExpirationInMs <= now) {
+                expired.add(stored.get(i).getKid());
+            }
+        }
+        if (!expired.isEmpty()) {
+            jwtKeyRepository.deleteByKidIn(expired);
+            stored = stored.subList(expired.size(), stored.size());
+        }
+
+        JwtKey newest = stored.isEmpty() ? null : stored.get(stored.size() - 1);
+        if (newest == null) {
+            // Nothing was ever published, so no verifier can hold a document without this key
+            jwtKeyRepository.save(generate(now, now));
+            stored = jwtKeyRepository.findAllByOrderByActivatesAtAsc();
+        } else if (newest.getCreatedAt().toEpochMilli() + rotationIntervalMs <= now) {
+            jwtKeyRepository.save(generate(now, now + publishLeadMs));
+            stored = jwtKeyRepository.findAllByOrderByActivatesAtAsc();
+            logger.info("Rotating JWT signing key, new key activates at {}", Instant.ofEpochMilli(now + publishLeadMs));
+        }
+
+        keys = load(stored);
+        lastLoadedAt = now;
+    }
+
+    /**
+     * Public verification keys in JWK form (RFC 7517) for the /.well-known/jwks.json document,
+     * including keys that have been published but do not sign yet.
+     */
+    public List<Map<String, Object>> publicJwks() {
+        List<Map<String, Object>> jwks = new ArrayList<>();
+        for (SigningKey key : keys) {
+            ECPublicKey publicKey = (ECPublicKey) key.publicKey();
+            Map<String, Object> jwk = new LinkedHashMap<>();
+            jwk.put("kty", "EC");
+            jwk.put("crv", "P-256");
+            jwk.put("use", "sig");
+            jwk.put("alg", SignatureAlgorithm.ES256.getValue());
+            jwk.put("kid", key.kid());
+            jwk.put("x", coordinate(publicKey.getW().getAffineX()));
+            jwk.put("y", coordinate(publicKey.getW().getAffineY()));
+            jwks.add(jwk);
+        }
+        return jwks;
+    }
+
+    private SigningKey find(String kid) {
+        for (SigningKey key : keys) {
+            if (key.kid().equals(kid)) {
+                return key;
+            }
+        }
+        return null;
+    }
+
+    private List<SigningKey> load(List<JwtKey> stored) {
+        List<SigningKey> loaded = new ArrayList<>(stored.size());
+        try {
+            KeyFactory keyFactory = KeyFactory.getInstance("EC");
+            for (JwtKey key : stored) {
+                PrivateKey privateKey = keyFactory.generatePrivate(new PKCS8EncodedKeySpec(decrypt(key.getEncryptedPrivateKey())));
+                PublicKey publicKey = keyFactory.generatePublic(new X509EncodedKeySpec(key.getPublicKey()));
+                loaded.add(new SigningKey(key.getKid(), privateKey, publicKey, key.getActivatesAt().toEpochMilli()));
+            }
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("Could not read the stored JWT signing keys; is app.jwtSecret the same on every instance?", ex);
+        }
+        return List.copyOf(loaded);
+    }
+
+    private JwtKey generate(long now, long activatesAt) {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+            generator.initialize(new ECGenParameterSpec("secp256r1"), random);
+            KeyPair keyPair = generator.generateKeyPair();
+
+            byte[] kidBytes = new byte[12];
+            random.nextBytes(kidBytes);
+            String kid = Base64.getUrlEncoder().withoutPadding().encodeToString(kidBytes);
+
+            return new JwtKey(kid, keyPair.getPublic().getEncoded(), encrypt(keyPair.getPrivate().getEncoded()),
+                    Instant.ofEpochMilli(now), Instant.ofEpochMilli(activatesAt));
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("Could not generate an ES256 signing key", ex);
+        }
+    }
+
+    private byte[] encrypt(byte[] plain) throws GeneralSecurityException {
+        byte[] nonce = new byte[GCM_NONCE_BYTES];
+        random.nextBytes(nonce);
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.ENCRYPT_MODE, storageKey, new GCMParameterSpec(GCM_TAG_BITS, nonce));
+        byte[] sealed = cipher.doFinal(plain);
+        return ByteBuffer.allocate(nonce.length + sealed.length).put(nonce).put(sealed).array();
+    }
+
+    private byte[] decrypt(byte[] stored) throws GeneralSecurityException {
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.DECRYPT_MODE, storageKey, new GCMParameterSpec(GCM_TAG_BITS, stored, 0, GCM_NONCE_BYTES));
+        return cipher.doFinal(stored, GCM_NONCE_BYTES, stored.length - GCM_NONCE_BYTES);
+    }
+
+    private static byte[] sha256(String value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static String coordinate(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        byte[] fixed = new byte[P256_COORDINATE_BYTES];
+        // toByteArray is signed and minimal, JWK wants the unsigned fixed-length big-endian form
+        int copy = Math.min(bytes.length, P256_COORDINATE_BYTES);
+        System.arraycopy(bytes, bytes.length - copy, fixed, P256_COORDINATE_BYTES - copy, copy);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(fixed);
+    }
+
+    public record SigningKey(String kid, PrivateKey privateKey, PublicKey publicKey, long activatesAt) {
+    }
+}
@@ -1,69 +1,301 @@
 package com.kumar.wipro.api.security;
 
+import java.io.IOException;
+import java.security.Key;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import javax.crypto.spec.SecretKeySpec;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.SignatureException;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
 import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.SecurityException;
+import jakarta.annotation.PostConstruct;
 
 @Component
 public class JwtTokenProvider {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtTokenProvider.class);
 
+    static final String CLAIM_USERNAME = "username";
+    static final String CLAIM_NAME = "name";
+    static final String CLAIM_ROLES = "roles";
+    static final String CLAIM_TOKEN_VERSION = "ver";
+
+    private static final ObjectMapper CLAIMS_MAPPER = new ObjectMapper();
+
+    private static final TypeReference<Map<String, Object>> CLAIMS_TYPE = new TypeReference<>() {
+    };
+
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Autowired
+    private JwtSigningKeys signingKeys;
+
+    @Autowired
+    private TokenRevocationList revocationList;
+
     @Value("${app.jwtSecret}")
     private String jwtSecret;
 
     @Value("${app.jwtExpirationInMs}")
     private int jwtExpirationInMs;
 
+    @Value("${app.jwtFastVerifier:true}")
+    private boolean fastVerifier;
+
+    private SecretKeySpec signingKey;
+
+    private Hs512TokenVerifier hs512Verifier;
+
+    private JwtParser jwtParser;
+
+    @PostConstruct
+    void init() {
+        // Same key derivation JJWT applies to a String secret, done once instead of per call
+        signingKey = new SecretKeySpec(Decoders.BASE64.decode(jwtSecret), SignatureAlgorithm.HS512.getJcaName());
+        hs512Verifier = new Hs512TokenVerifier(signingKey.getEncoded());
+        jwtParser = Jwts.parserBuilder().setSigningKeyResolver(new SigningKeyResolverAdapter() {
+            @Override
+            public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                return resolveVerificationKey(header);
+            }
+        }).build();
+    }
+
     public String generateToken(Authentication authentication) {
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+        return generateToken((UserPrincipal) authentication.getPrincipal());
+    }
 
+    public String generateToken(UserPrincipal userPrincipal) {
         Date expiryDate = new Date(System.currentTimeMillis() + jwtExpirationInMs);
 
-        return Jwts.builder()
+        List<String> roles = userPrincipal.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toList());
+
+        JwtBuilder builder = Jwts.builder()
+                .setId(UUID.randomUUID().toString())
                 .setSubject(Long.toString(userPrincipal.getId()))
+                .claim(CLAIM_USERNAME, userPrincipal.getUsername())
+                .claim(CLAIM_NAME, userPrincipal.getName())
+                .claim(CLAIM_ROLES, roles)
+                .claim(CLAIM_TOKEN_VERSION, userPrincipal.getTokenVersion())
                 .setIssuedAt(new Date())
-                .setExpiration(expiryDate)
-                .signWith(SignatureAlgorithm.HS512, jwtSecret)
-                .compact();
+                .setExpiration(expiryDate);
+
+        if (signingKeys.isAsymmetric()) {
+            JwtSigningKeys.SigningKey key = signingKeys.current();
+            builder.setHeaderParam(JwsHeader.KEY_ID, key.kid())
+                    .signWith(key.privateKey(), SignatureAlgorithm.ES256);
+        } else {
+            builder.signWith(signingKey, SignatureAlgorithm.HS512);
+        }
+        return builder.compact();
     }
 
-    public Long getUserIdFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .setSigningKey(jwtSecret)
-                .parseClaimsJws(token)
-                .getBody();
+    /**
+     * Verifies the token once and returns its claims, or the reason it was rejected.
+     * Rejections are reported through the result rather than thrown to the caller, and tokens
+     * that verified before are answered from {@link VerifiedTokenCache} until they expire.
+     */
+    public JwtVerificationResult verify(String token) {
+        if (!StringUtils.hasText(token)) {
+            return JwtVerificationResult.failure(JwtVerificationResult.Status.EMPTY);
+        }
+        if (!hasCompactJwsShape(token)) {
+            return JwtVerificationResult.failure(JwtVerificationResult.Status.MALFORMED);
+        }
 
-        return Long.parseLong(claims.getSubject());
+        JwtVerificationResult result = verifiedTokenCache.get(token);
+        if (result == null) {
+            result = parse(token);
+            verifiedTokenCache.put(token, result);
+        }
+
+        // Checked after the cache, so a revocation takes effect on the very next request
+        if (result.isValid() && revocationList.isRevoked(result.getClaims().getId())) {
+            return reject(JwtVerificationResult.Status.REVOKED);
+        }
+        return result;
     }
 
-    public boolean validateToken(String authToken) {
+    /**
+     * Revokes a token this provider issued until its expiry. Returns false if the token does not
+     * verify or was issued without a token id.
+     */
+    public boolean revokeToken(String token) {
+        JwtVerificationResult result = verify(token);
+        if (!result.isValid() || result.getClaims().getId() == null) {
+            return false;
+        }
+
+        revocationList.revoke(result.getClaims().getId(), result.getClaims().getExpiration().getTime());
+        return true;
+    }
+
+    /**
+     * Revokes a token by id when the token itself is not at hand. The entry is kept for the longest
+     * lifetime a token can have, since its actual expiry is unknown.
+     */
+    public void revokeTokenId(String tokenId) {
+        revocationList.revoke(tokenId, System.currentTimeMillis() + jwtExpirationInMs);
+    }
+
+    private JwtVerificationResult parse(String token) {
+        long now = System.currentTimeMillis();
+        if (fastVerifier && signingKeys.acceptsHs512(now)) {
+            Hs512TokenVerifier.Result fast = hs512Verifier.verify(token, now);
+            if (fast != null) {
+                return fast.isValid() ? readClaims(fast) : reject(fast.getStatus());
+            }
+        }
+
         try {
-            Jwts.parser().setSigningKey(jwtSecret).parseClaimsJws(authToken);
-            return true;
-        } catch (SignatureException ex) {
-            logger.error("Invalid JWT signature");
-        } catch (MalformedJwtException ex) {
-            logger.error("Invalid JWT token");
+            return JwtVerificationResult.valid(jwtParser.parseClaimsJws(token).getBody());
         } catch (ExpiredJwtException ex) {
-            logger.error("Expired JWT token");
+            return reject(JwtVerificationResult.Status.EXPIRED);
+        } catch (SecurityException ex) {
+            return reject(JwtVerificationResult.Status.INVALID_SIGNATURE);
         } catch (UnsupportedJwtException ex) {
-            logger.error("Unsupported JWT token");
-        } catch (IllegalArgumentException ex) {
-            logger.error("JWT claims string is empty.");
+            return reject(JwtVerificationResult.Status.UNSUPPORTED);
+        } catch (JwtException | IllegalArgumentException ex) {
+            return reject(JwtVerificationResult.Status.MALFORMED);
+        }
+    }
+
+    /**
+     * Materializes the claims of a token the fast verifier accepted, as JJWT would have. This runs once
+     * per token; the result is kept in {@link VerifiedTokenCache} for the requests that follow.
+     */
+    private JwtVerificationResult readClaims(Hs512TokenVerifier.Result verified) {
+        try {
+            Map<String, Object> claims = CLAIMS_MAPPER.readValue(verified.getPayload(), 0,
+                    verified.getPayloadLength(), CLAIMS_TYPE);
+            return JwtVerificationResult.valid(Jwts.claims(claims));
+        } catch (IOException ex) {
+            return reject(JwtVerificationResult.Status.MALFORMED);
+        }
+    }
+
+    public static String resolveBearerToken(String authorizationHeader) {
+        if (StringUtils.hasText(authorizationHeader) && authorizationHeader.startsWith("Bearer ")) {
+            return authorizationHeader.substring(7);
+        }
+        return null;
+    }
+
+    public long getExpirationInMs() {
+        return jwtExpirationInMs;
+    }
+
+    /**
+     * User id of a token that passes {@link #verify}, or null if it does not verify or was revoked.
+     */
+    public Long getUserIdFromToken(String token) {
+        JwtVerificationResult result = verify(token);
+        return result.isValid() ? getUserId(result.getClaims()) : null;
+    }
+
+    static Long getUserId(Claims claims) {
+        return Long.parseLong(claims.getSubject());
+    }
+
+    /**
+     * Version the token was issued under; tokens from before versioning count as version 0.
+     */
+    static int getTokenVersion(Claims claims) {
+        Integer version = claims.get(CLAIM_TOKEN_VERSION, Integer.class);
+        return version == null ? 0 : version;
+    }
+
+    static UserPrincipal toUserPrincipal(Claims claims) {
+        String username = claims.get(CLAIM_USERNAME, String.class);
+        Collection<?> roles = claims.get(CLAIM_ROLES, Collection.class);
+        if (username == null || roles == null) {
+            return null;
+        }
+
+        return new UserPrincipal(
+                getUserId(claims),
+                claims.get(CLAIM_NAME, String.class),
+                username,
+                null,
+                null,
+                getTokenVersion(claims),
+                RoleAuthorities.maskOfNames(roles)
+        );
+    }
+
+    public boolean validateToken(String authToken) {
+        return verify(authToken).isValid();
+    }
+
+    /**
+     * HS512 tokens verify against the shared secret, ES256 tokens against the public key named by
+     * their kid header. After a switch to ES256, HS512 tokens are only accepted until
+     * {@code app.jwtHs512AcceptedUntil}, since anyone holding the secret could otherwise keep minting them.
+     */
+    private Key resolveVerificationKey(JwsHeader<?> header) {
+        SignatureAlgorithm algorithm = SignatureAlgorithm.forName(header.getAlgorithm());
+        if (algorithm == SignatureAlgorithm.HS512) {
+            if (!signingKeys.acceptsHs512(System.currentTimeMillis())) {
+                throw new UnsupportedJwtException("HS512 tokens are no longer accepted");
+            }
+            return signingKey;
+        }
+        if (algorithm == SignatureAlgorithm.ES256) {
+            Key key = signingKeys.verificationKey(header.getKeyId());
+            if (key != null) {
+                return key;
+            }
+            throw new SecurityException("Unknown JWT key id " + header.getKeyId());
+        }
+        throw new UnsupportedJwtException("Unsupported JWT algorithm " + algorithm);
+    }
+
+    private JwtVerificationResult reject(JwtVerificationResult.Status status) {
+        logger.debug("Rejected JWT token: {}", status);
+        return JwtVerificationResult.failure(status);
+    }
+
+    /**
+     * Cheap structural check so obvious garbage is rejected without going through the parser.
+     */
+    private static boolean hasCompactJwsShape(String token) {
+        int firstDot = token.indexOf('.');
+        if (firstDot <= 0) {
+            return false;
         }
-        return false;
+        int secondDot = token.indexOf('.', firstDot + 1);
+        return secondDot > firstDot + 1
+                && secondDot < token.length() - 1
+                && token.indexOf('.', secondDot + 1) < 0;
     }
 }
@@ -0,0 +1,71 @@
+package com.kumar.wipro.api.security;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Outcome of a single JWT verification pass: either the verified claims or the reason the token was rejected.
+ */
+public final class JwtVerificationResult {
+
+    public enum Status {
+        VALID,
+        EMPTY,
+        MALFORMED,
+        INVALID_SIGNATURE,
+        EXPIRED,
+        UNSUPPORTED,
+        REVOKED
+    }
+
+    private static final JwtVerificationResult[] FAILURES = new JwtVerificationResult[Status.values().length];
+
+    static {
+        for (Status status : Status.values()) {
+            if (status != Status.VALID) {
+                FAILURES[status.ordinal()] = new JwtVerificationResult(status, null);
+            }
+        }
+    }
+
+    private final Status status;
+
+    private final Claims claims;
+
+    private final UserPrincipal principal;
+
+    private JwtVerificationResult(Status status, Claims claims) {
+        this.status = status;
+        this.claims = claims;
+        this.principal = claims == null ? null : JwtTokenProvider.toUserPrincipal(claims);
+    }
+
+    public static JwtVerificationResult valid(Claims claims) {
+        return new JwtVerificationResult(Status.VALID, claims);
+    }
+
+    public static JwtVerificationResult failure(Status status) {
+        if (status == Status.VALID) {
+            throw new IllegalArgumentException("A failure result needs a rejection status");
+        }
+        return FAILURES[status.ordinal()];
+    }
+
+    public boolean isValid() {
+        return status == Status.VALID;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Claims getClaims() {
+        return claims;
+    }
+
+    /**
+     * Principal rebuilt from the token's identity claims, or null if the token does not carry them.
+     */
+    public UserPrincipal getPrincipal() {
+        return principal;
+    }
+}
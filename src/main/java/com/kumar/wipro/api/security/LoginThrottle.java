@@ -0,0 +1,141 @@
+package com.kumar.wipro.api.security;
+
+import java.time.Duration;
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.kumar.wipro.api.exception.TooManyRequestsException;
+import com.kumar.wipro.api.repository.UserRepository;
+import com.kumar.wipro.api.util.TokenBucketMap;
+import com.kumar.wipro.api.util.TokenBucketSketch;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Sign-in rate limits, checked before any password is hashed.
+ *
+ * Every attempt from a client address takes a token from that address's bucket. Failed attempts take
+ * a token from the username's bucket, and a failure that empties it locks the username out for one
+ * more interval per lockout in the last hour, doubling each time.
+ *
+ * Client addresses share a fixed-size {@link TokenBucketSketch}, where a collision can only make a
+ * client look busier than it is. Usernames are chosen by the caller, so they get exact buckets in a
+ * bounded {@link TokenBucketMap} instead: a spray of made-up usernames can push out a username's
+ * history, but can never lock out a username nobody failed to sign in as.
+ *
+ * Users can sign in with their username or their email, so both are charged to one account key: an
+ * email that belongs to an account is resolved to its username, anything else is keyed as given. The
+ * email is only looked up when a failure is recorded, and remembered for as long as the bucket, so a
+ * successful sign-in costs no extra query; an email whose account was locked out by username gets at
+ * most one more attempt before it resolves to the same bucket.
+ */
+@Component
+public class LoginThrottle {
+
+    private static final int DEPTH = 2;
+
+    private static final long LOCKOUT_MEMORY_MS = 3600000L;
+
+    private static final int MAX_LOCKOUT_DOUBLINGS = 6;
+
+    private final TokenBucketSketch clientAttempts;
+
+    private final TokenBucketMap usernameFailures;
+
+    private final TokenBucketMap usernameLockouts;
+
+    private final Counter throttledByClient;
+
+    private final Counter throttledByUsername;
+
+    private final Cache<String, String> accountsByEmail;
+
+    private final UserRepository userRepository;
+
+    public LoginThrottle(@Value("${app.loginThrottleSlots:65536}") int slots,
+            @Value("${app.loginClientBurst:30}") int clientBurst,
+            @Value("${app.loginClientIntervalMs:2000}") long clientIntervalMs,
+            @Value("${app.loginUsernameBurst:5}") int usernameBurst,
+            @Value("${app.loginUsernameIntervalMs:60000}") long usernameIntervalMs,
+            @Value("${app.loginUsernamesTracked:100000}") long usernamesTracked,
+            MeterRegistry meterRegistry,
+            UserRepository userRepository) {
+        // The longest lockout plus a full burst is the most debt a username can build up
+        long usernameIdleMs = usernameIntervalMs * (usernameBurst + (1L << MAX_LOCKOUT_DOUBLINGS));
+        this.clientAttempts = new TokenBucketSketch(slots, DEPTH, clientBurst, clientIntervalMs);
+        this.usernameFailures = new TokenBucketMap(usernamesTracked, usernameBurst, usernameIntervalMs, usernameIdleMs);
+        this.usernameLockouts = new TokenBucketMap(usernamesTracked, 1, LOCKOUT_MEMORY_MS,
+                LOCKOUT_MEMORY_MS * (MAX_LOCKOUT_DOUBLINGS + 1));
+
+        this.throttledByClient = Counter.builder("login.throttled")
+                .description("Sign-in attempts rejected before authentication")
+                .tag("reason", "client")
+                .register(meterRegistry);
+        this.throttledByUsername = Counter.builder("login.throttled")
+                .description("Sign-in attempts rejected before authentication")
+                .tag("reason", "username")
+                .register(meterRegistry);
+        this.accountsByEmail = Caffeine.newBuilder()
+                .maximumSize(usernamesTracked)
+                .expireAfterAccess(Duration.ofMillis(usernameIdleMs))
+                .build();
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Rejects the attempt with 429 if the account is locked out or the client is over its rate.
+     */
+    public void checkAllowed(String usernameOrEmail, String clientAddress) {
+        long now = System.currentTimeMillis();
+        if (!usernameFailures.isAllowed(knownAccountKey(usernameOrEmail), now)) {
+            throttledByUsername.increment();
+            throw new TooManyRequestsException("Too many failed sign-in attempts, please try again later");
+        }
+        if (clientAddress != null && !clientAttempts.tryAcquire(clientAddress, now)) {
+            throttledByClient.increment();
+            throw new TooManyRequestsException("Too many sign-in attempts, please try again later");
+        }
+    }
+
+    public void recordFailure(String usernameOrEmail) {
+        long now = System.currentTimeMillis();
+        String username = resolveAccountKey(usernameOrEmail);
+
+        long cost = usernameFailures.getIntervalMillis();
+        if (usernameFailures.debtMillis(username, now) + cost > usernameFailures.getToleranceMillis()) {
+            // This failure locks the username out; repeat offenders stay out longer each time
+            long lockoutDebt = usernameLockouts.debtMillis(username, now);
+            int recentLockouts = (int) ((lockoutDebt + LOCKOUT_MEMORY_MS - 1) / LOCKOUT_MEMORY_MS);
+            cost += usernameFailures.getIntervalMillis() * ((1L << Math.min(recentLockouts, MAX_LOCKOUT_DOUBLINGS)) - 1);
+            usernameLockouts.charge(username, now, LOCKOUT_MEMORY_MS);
+        }
+        usernameFailures.charge(username, now, cost);
+    }
+
+    private String knownAccountKey(String usernameOrEmail) {
+        String identifier = normalize(usernameOrEmail);
+        if (identifier.indexOf('@') < 0) {
+            return identifier;
+        }
+        String username = accountsByEmail.getIfPresent(identifier);
+        return username == null ? identifier : username;
+    }
+
+    private String resolveAccountKey(String usernameOrEmail) {
+        String identifier = normalize(usernameOrEmail);
+        if (identifier.indexOf('@') < 0) {
+            return identifier;
+        }
+        return accountsByEmail.get(identifier,
+                email -> userRepository.findUsernameNormalizedByEmailNormalized(email).orElse(email));
+    }
+
+    private static String normalize(String usernameOrEmail) {
+        return usernameOrEmail == null ? "" : usernameOrEmail.trim().toLowerCase(Locale.ROOT);
+    }
+}
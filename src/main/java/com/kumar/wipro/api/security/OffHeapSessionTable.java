@@ -0,0 +1,427 @@
+package com.kumar.wipro.api.security;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Fixed-capacity hash table of session records stored outside the Java heap.
+ *
+ * Every record has the same size and lives at a computed offset in one buffer, so millions of
+ * sessions cost the garbage collector nothing. Keys are the first 128 bits of the session token's
+ * SHA-256; collisions are resolved by linear probing with backward-shift deletion, so no tombstones
+ * build up. Lookups copy the record into a caller-owned {@link SessionRecord} and do not allocate; the
+ * record decodes the username only when it differs from the one it decoded last.
+ *
+ * When opened on a file the buffer is a memory mapping of that file, which makes the table itself
+ * the snapshot: {@link #flush()} forces it to disk and reopening the file restores every session.
+ */
+public class OffHeapSessionTable implements Closeable {
+
+    static final int HEADER_SIZE = 64;
+    static final int RECORD_SIZE = 128;
+    static final int MAX_USERNAME_BYTES = 64;
+
+    private static final long MAGIC = 0x5345535354424c31L;
+    private static final int LAYOUT_VERSION = 1;
+
+    // Record layout
+    private static final int KEY_HI = 0;
+    private static final int KEY_LO = 8;
+    private static final int USER_ID = 16;
+    private static final int EXPIRES_AT = 24;
+    private static final int TOKEN_VERSION = 32;
+    private static final int ROLE_MASK = 36;
+    private static final int USERNAME_LENGTH = 40;
+    private static final int USERNAME = 48;
+
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle INTS = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private final ByteBuffer buffer;
+
+    private final FileChannel channel;
+
+    private final int capacity;
+
+    private final int mask;
+
+    private final int maxSize;
+
+    private final StampedLock lock = new StampedLock();
+
+    private int size;
+
+    private OffHeapSessionTable(ByteBuffer buffer, FileChannel channel, int capacity) {
+        this.buffer = buffer;
+        this.channel = channel;
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.maxSize = (int) (capacity * 0.75);
+    }
+
+    /**
+     * Table in anonymous direct memory; sessions are lost on restart.
+     */
+    public static OffHeapSessionTable allocate(int capacity) {
+        checkCapacity(capacity);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bufferSize(capacity)).order(ByteOrder.LITTLE_ENDIAN);
+        OffHeapSessionTable table = new OffHeapSessionTable(buffer, null, capacity);
+        table.writeHeader();
+        return table;
+    }
+
+    /**
+     * Table mapped onto a file. An existing file with the same layout and capacity is reused as-is;
+     * anything else is discarded and the table starts empty.
+     */
+    public static OffHeapSessionTable open(Path file, int capacity) throws IOException {
+        checkCapacity(capacity);
+        int bufferSize = bufferSize(capacity);
+        boolean reuse = Files.exists(file) && Files.size(file) == bufferSize;
+
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        if (!reuse) {
+            channel.truncate(0);
+        }
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, bufferSize);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+        OffHeapSessionTable table = new OffHeapSessionTable(buffer, channel, capacity);
+        if (reuse && table.hasMatchingHeader()) {
+            table.size = table.countLive();
+        } else {
+            table.clearRecords();
+            table.writeHeader();
+        }
+        return table;
+    }
+
+    public boolean put(long keyHi, long keyLo, long userId, int tokenVersion, int roleMask, String username,
+            long expiresAt) {
+        byte[] usernameBytes = username.getBytes(StandardCharsets.UTF_8);
+        if (usernameBytes.length > MAX_USERNAME_BYTES) {
+            throw new IllegalArgumentException("Username does not fit a session record");
+        }
+        checkKey(keyHi);
+
+        long stamp = lock.writeLock();
+        try {
+            int slot = slotFor(keyHi);
+            while (true) {
+                long candidate = keyHi(slot);
+                if (candidate == 0) {
+                    if (size >= maxSize) {
+                        return false;
+                    }
+                    size++;
+                    break;
+                }
+                if (candidate == keyHi && keyLo(slot) == keyLo) {
+                    break;
+                }
+                slot = (slot + 1) & mask;
+            }
+
+            int offset = offset(slot);
+            LONGS.set(buffer, offset + KEY_LO, keyLo);
+            LONGS.set(buffer, offset + USER_ID, userId);
+            LONGS.set(buffer, offset + EXPIRES_AT, expiresAt);
+            INTS.set(buffer, offset + TOKEN_VERSION, tokenVersion);
+            INTS.set(buffer, offset + ROLE_MASK, roleMask);
+            INTS.set(buffer, offset + USERNAME_LENGTH, usernameBytes.length);
+            buffer.put(offset + USERNAME, usernameBytes);
+            // Key goes in last: it is what marks the slot as occupied
+            LONGS.set(buffer, offset + KEY_HI, keyHi);
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Copies the live record for the key into {@code into}. Returns false when the key is unknown or
+     * its session expired before {@code now}.
+     */
+    public boolean get(long keyHi, long keyLo, long now, SessionRecord into) {
+        long stamp = lock.tryOptimisticRead();
+        boolean found = read(keyHi, keyLo, now, into);
+        if (lock.validate(stamp)) {
+            return found;
+        }
+
+        stamp = lock.readLock();
+        try {
+            return read(keyHi, keyLo, now, into);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Pushes the expiry of a live session forward. Concurrent touches of one record only ever race
+     * to write similar timestamps, so a shared lock is enough.
+     */
+    public void touch(long keyHi, long keyLo, long expiresAt) {
+        long stamp = lock.readLock();
+        try {
+            int slot = find(keyHi, keyLo);
+            if (slot >= 0) {
+                LONGS.setOpaque(buffer, offset(slot) + EXPIRES_AT, expiresAt);
+            }
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public boolean remove(long keyHi, long keyLo) {
+        long stamp = lock.writeLock();
+        try {
+            int slot = find(keyHi, keyLo);
+            if (slot < 0) {
+                return false;
+            }
+            delete(slot);
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public int removeExpired(long now) {
+        long stamp = lock.writeLock();
+        try {
+            int removed = 0;
+            int slot = 0;
+            while (slot < capacity) {
+                if (keyHi(slot) != 0 && expiresAt(slot) <= now) {
+                    // Backward shift may pull another record into this slot, so look at it again
+                    delete(slot);
+                    removed++;
+                } else {
+                    slot++;
+                }
+            }
+            return removed;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Forces a file-backed table to disk; a no-op for tables in anonymous memory.
+     */
+    public void flush() {
+        if (buffer instanceof MappedByteBuffer mapped) {
+            long stamp = lock.readLock();
+            try {
+                mapped.force();
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    private boolean read(long keyHi, long keyLo, long now, SessionRecord into) {
+        int slot = find(keyHi, keyLo);
+        if (slot < 0) {
+            return false;
+        }
+        int offset = offset(slot);
+        long expiresAt = (long) LONGS.getOpaque(buffer, offset + EXPIRES_AT);
+        if (expiresAt <= now) {
+            return false;
+        }
+        into.userId = (long) LONGS.get(buffer, offset + USER_ID);
+        into.expiresAt = expiresAt;
+        into.tokenVersion = (int) INTS.get(buffer, offset + TOKEN_VERSION);
+        into.roleMask = (int) INTS.get(buffer, offset + ROLE_MASK);
+        int length = Math.min(Math.max((int) INTS.get(buffer, offset + USERNAME_LENGTH), 0), MAX_USERNAME_BYTES);
+        into.usernameLength = length;
+        buffer.get(offset + USERNAME, into.username, 0, length);
+        return true;
+    }
+
+    private int find(long keyHi, long keyLo) {
+        int slot = slotFor(keyHi);
+        for (int probes = 0; probes < capacity; probes++) {
+            long candidate = keyHi(slot);
+            if (candidate == 0) {
+                return -1;
+            }
+            if (candidate == keyHi && keyLo(slot) == keyLo) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void delete(int slot) {
+        int hole = slot;
+        int next = slot;
+        while (true) {
+            next = (next + 1) & mask;
+            long key = keyHi(next);
+            if (key == 0) {
+                break;
+            }
+            int home = slotFor(key);
+            // Move the record back if its home slot does not lie cyclically within (hole, next]
+            boolean homeBetween = hole <= next ? (home > hole && home <= next) : (home > hole || home <= next);
+            if (!homeBetween) {
+                buffer.put(offset(hole), buffer, offset(next), RECORD_SIZE);
+                hole = next;
+            }
+        }
+        LONGS.set(buffer, offset(hole) + KEY_HI, 0L);
+        size--;
+    }
+
+    private long keyHi(int slot) {
+        return (long) LONGS.get(buffer, offset(slot) + KEY_HI);
+    }
+
+    private long keyLo(int slot) {
+        return (long) LONGS.get(buffer, offset(slot) + KEY_LO);
+    }
+
+    private long expiresAt(int slot) {
+        return (long) LONGS.getOpaque(buffer, offset(slot) + EXPIRES_AT);
+    }
+
+    private int slotFor(long keyHi) {
+        // Keys are uniformly random hash bits already
+        return (int) (keyHi ^ (keyHi >>> 32)) & mask;
+    }
+
+    private static int offset(int slot) {
+        return HEADER_SIZE + slot * RECORD_SIZE;
+    }
+
+    private boolean hasMatchingHeader() {
+        return (long) LONGS.get(buffer, 0) == MAGIC
+                && (int) INTS.get(buffer, 8) == LAYOUT_VERSION
+                && (int) INTS.get(buffer, 12) == capacity
+                && (int) INTS.get(buffer, 16) == RECORD_SIZE;
+    }
+
+    private void writeHeader() {
+        LONGS.set(buffer, 0, MAGIC);
+        INTS.set(buffer, 8, LAYOUT_VERSION);
+        INTS.set(buffer, 12, capacity);
+        INTS.set(buffer, 16, RECORD_SIZE);
+    }
+
+    private int countLive() {
+        int live = 0;
+        for (int slot = 0; slot < capacity; slot++) {
+            if (keyHi(slot) != 0) {
+                live++;
+            }
+        }
+        return live;
+    }
+
+    private void clearRecords() {
+        for (int slot = 0; slot < capacity; slot++) {
+            LONGS.set(buffer, offset(slot) + KEY_HI, 0L);
+        }
+        size = 0;
+    }
+
+    private static void checkKey(long keyHi) {
+        if (keyHi == 0) {
+            throw new IllegalArgumentException("keyHi 0 marks an empty slot");
+        }
+    }
+
+    private static void checkCapacity(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two");
+        }
+        if ((long) capacity * RECORD_SIZE + HEADER_SIZE > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Capacity too large for a single buffer");
+        }
+    }
+
+    private static int bufferSize(int capacity) {
+        return HEADER_SIZE + capacity * RECORD_SIZE;
+    }
+
+    /**
+     * Mutable, reusable view of one session record.
+     */
+    public static final class SessionRecord {
+        long userId;
+        long expiresAt;
+        int tokenVersion;
+        int roleMask;
+        final byte[] username = new byte[MAX_USERNAME_BYTES];
+        int usernameLength;
+
+        // The last username handed out, so a record reused for the same user returns the same String
+        private final byte[] decodedBytes = new byte[MAX_USERNAME_BYTES];
+        private int decodedLength = -1;
+        private String decoded;
+
+        public long userId() {
+            return userId;
+        }
+
+        public long expiresAt() {
+            return expiresAt;
+        }
+
+        public int tokenVersion() {
+            return tokenVersion;
+        }
+
+        public int roleMask() {
+            return roleMask;
+        }
+
+        public String username() {
+            if (usernameLength != decodedLength
+                    || !Arrays.equals(username, 0, usernameLength, decodedBytes, 0, usernameLength)) {
+                decoded = new String(username, 0, usernameLength, StandardCharsets.UTF_8);
+                System.arraycopy(username, 0, decodedBytes, 0, usernameLength);
+                decodedLength = usernameLength;
+            }
+            return decoded;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.kumar.wipro.api.security;
+
+import java.util.Arrays;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Picks password hashing parameters for this machine at startup.
+ *
+ * Instead of a fixed cost, the configured algorithm is timed here and its work factor is raised until
+ * one hash takes about {@code app.passwordHashTargetMs}, never going below the configured minimum.
+ * New hardware therefore gets stronger hashes without a config change, and existing hashes follow
+ * through {@link AdaptivePasswordEncoder#upgradeEncoding} as users sign in.
+ */
+@Component
+public class PasswordEncoderCalibrator {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordEncoderCalibrator.class);
+
+    private static final int MAX_BCRYPT_COST = 20;
+
+    private static final int MAX_ARGON2_ITERATIONS = 16;
+
+    private static final String SAMPLE_PASSWORD = "calibration-password";
+
+    @Value("${app.passwordEncoding:bcrypt}")
+    private String encodingId;
+
+    @Value("${app.passwordHashTargetMs:250}")
+    private long targetMs;
+
+    @Value("${app.bcryptMinCost:10}")
+    private int bcryptMinCost;
+
+    @Value("${app.argon2MemoryKib:19456}")
+    private int argon2MemoryKib;
+
+    @Value("${app.argon2MinIterations:2}")
+    private int argon2MinIterations;
+
+    @Value("${app.argon2Parallelism:1}")
+    private int argon2Parallelism;
+
+    public AdaptivePasswordEncoder calibrate() {
+        int bcryptCost = bcryptMinCost;
+        int argon2Iterations = argon2MinIterations;
+
+        if (AdaptivePasswordEncoder.ARGON2.equals(encodingId)) {
+            argon2Iterations = argon2Iterations(targetMs, argon2MinIterations,
+                    timeMillis(new Argon2PasswordEncoder(16, 32, argon2Parallelism, argon2MemoryKib, 1)));
+            logger.info("Password hashing calibrated to Argon2id m={} KiB, t={}, p={}", argon2MemoryKib,
+                    argon2Iterations, argon2Parallelism);
+        } else {
+            bcryptCost = bcryptCost(targetMs, bcryptMinCost, timeMillis(new BCryptPasswordEncoder(bcryptMinCost)));
+            logger.info("Password hashing calibrated to BCrypt cost {}", bcryptCost);
+        }
+
+        return new AdaptivePasswordEncoder(encodingId, bcryptCost, argon2MemoryKib, argon2Iterations,
+                argon2Parallelism);
+    }
+
+    /**
+     * Each BCrypt cost step doubles the work, so the cost is extrapolated from one measurement.
+     */
+    static int bcryptCost(long targetMs, int minCost, double minCostMillis) {
+        int cost = minCost;
+        double millis = minCostMillis;
+        while (cost < MAX_BCRYPT_COST && millis * 2 <= targetMs) {
+            millis *= 2;
+            cost++;
+        }
+        return cost;
+    }
+
+    /**
+     * Argon2 time grows linearly with its iterations at a fixed memory size.
+     */
+    static int argon2Iterations(long targetMs, int minIterations, double oneIterationMillis) {
+        int iterations = (int) Math.min(MAX_ARGON2_ITERATIONS, targetMs / Math.max(oneIterationMillis, 0.001));
+        return Math.max(minIterations, iterations);
+    }
+
+    /**
+     * Median of a few hashes, after one to warm up.
+     */
+    private static double timeMillis(PasswordEncoder encoder) {
+        encoder.encode(SAMPLE_PASSWORD);
+        long[] samples = new long[3];
+        for (int i = 0; i < samples.length; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples[1] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,114 @@
+package com.kumar.wipro.api.security;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.kumar.wipro.api.exception.ServiceUnavailableException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Bulkhead for password hashing.
+ *
+ * BCrypt is deliberately slow, so a burst of sign-ins hashing on request threads can occupy every
+ * one of them. Hashes run here instead, on a fixed pool sized to the CPU count behind a bounded
+ * queue. At most pool + queue request threads ever wait on hashing; once both are full further
+ * calls fail straight away with 503 and the remaining request threads stay free for other traffic.
+ */
+@Component
+public class PasswordHashingExecutor {
+
+    private final ThreadPoolExecutor executor;
+
+    private final Timer queueWait;
+
+    private final Timer encodeTime;
+
+    private final Timer matchesTime;
+
+    private final Counter rejected;
+
+    public PasswordHashingExecutor(@Value("${app.passwordHashingThreads:0}") int threads,
+            @Value("${app.passwordHashingQueueCapacity:64}") int queueCapacity,
+            MeterRegistry meterRegistry) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+
+        this.queueWait = Timer.builder("password.hashing.queue.wait")
+                .description("Time a hash waited for a hashing thread")
+                .register(meterRegistry);
+        this.encodeTime = Timer.builder("password.hashing.time")
+                .description("Time spent hashing passwords")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        this.matchesTime = Timer.builder("password.hashing.time")
+                .description("Time spent hashing passwords")
+                .tag("operation", "matches")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("password.hashing.rejected")
+                .description("Hashes refused because the queue was full")
+                .register(meterRegistry);
+        Gauge.builder("password.hashing.queue.size", executor, pool -> pool.getQueue().size())
+                .description("Hashes waiting for a hashing thread")
+                .register(meterRegistry);
+    }
+
+    public String encode(Supplier<String> hash) {
+        return run(hash, encodeTime);
+    }
+
+    public boolean matches(Supplier<Boolean> hash) {
+        return run(hash, matchesTime);
+    }
+
+    private <T> T run(Supplier<T> hash, Timer hashTime) {
+        long submittedAt = System.nanoTime();
+        Future<T> result;
+        try {
+            result = executor.submit(() -> {
+                queueWait.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                return hashTime.record(hash);
+            });
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            throw new ServiceUnavailableException("Too many sign-in requests, please try again shortly");
+        }
+
+        try {
+            return result.get();
+        } catch (InterruptedException ex) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Password hashing failed", ex.getCause());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,112 @@
+package com.kumar.wipro.api.security;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import com.kumar.wipro.api.model.RoleName;
+
+/**
+ * Interned authorities for {@link RoleName}, and the bitmask form principals carry their roles in.
+ *
+ * Bit {@code 1 << role.ordinal()} stands for a role. Every authority object and every authority
+ * list handed out here is a shared, immutable singleton, so building a principal allocates neither.
+ */
+public final class RoleAuthorities {
+
+    private static final RoleName[] ROLES = RoleName.values();
+
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    private static final Map<RoleName, GrantedAuthority> AUTHORITIES = authorities();
+
+    // One shared list per possible role combination, indexed by mask
+    private static final List<List<GrantedAuthority>> AUTHORITIES_BY_MASK = authoritiesByMask();
+
+    // Both "ROLE_USER" and "USER" resolve to the USER bit
+    private static final Map<String, Integer> BITS_BY_NAME = bitsByName();
+
+    private RoleAuthorities() {
+    }
+
+    public static GrantedAuthority authority(RoleName role) {
+        return AUTHORITIES.get(role);
+    }
+
+    public static int bit(RoleName role) {
+        return 1 << role.ordinal();
+    }
+
+    /**
+     * Bit for a role or authority name, with or without the {@code ROLE_} prefix; 0 if unknown.
+     */
+    public static int bit(String name) {
+        Integer bit = BITS_BY_NAME.get(name);
+        return bit == null ? 0 : bit;
+    }
+
+    public static List<GrantedAuthority> authorities(int mask) {
+        return AUTHORITIES_BY_MASK.get(mask & (AUTHORITIES_BY_MASK.size() - 1));
+    }
+
+    public static int mask(Collection<? extends GrantedAuthority> authorities) {
+        int mask = 0;
+        if (authorities != null) {
+            for (GrantedAuthority authority : authorities) {
+                mask |= bit(authority.getAuthority());
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Mask for role names as they appear in a token's roles claim. Unknown names are ignored.
+     */
+    public static int maskOfNames(Collection<?> names) {
+        int mask = 0;
+        for (Object name : names) {
+            mask |= bit(String.valueOf(name));
+        }
+        return mask;
+    }
+
+    private static Map<RoleName, GrantedAuthority> authorities() {
+        Map<RoleName, GrantedAuthority> authorities = new EnumMap<>(RoleName.class);
+        for (RoleName role : ROLES) {
+            authorities.put(role, new SimpleGrantedAuthority(role.name()));
+        }
+        return Collections.unmodifiableMap(authorities);
+    }
+
+    private static List<List<GrantedAuthority>> authoritiesByMask() {
+        List<List<GrantedAuthority>> byMask = new ArrayList<>(1 << ROLES.length);
+        for (int mask = 0; mask < 1 << ROLES.length; mask++) {
+            List<GrantedAuthority> authorities = new ArrayList<>();
+            for (RoleName role : ROLES) {
+                if ((mask & bit(role)) != 0) {
+                    authorities.add(AUTHORITIES.get(role));
+                }
+            }
+            byMask.add(Collections.unmodifiableList(authorities));
+        }
+        return Collections.unmodifiableList(byMask);
+    }
+
+    private static Map<String, Integer> bitsByName() {
+        Map<String, Integer> bits = new HashMap<>();
+        for (RoleName role : ROLES) {
+            bits.put(role.name(), bit(role));
+            if (role.name().startsWith(ROLE_PREFIX)) {
+                bits.put(role.name().substring(ROLE_PREFIX.length()), bit(role));
+            }
+        }
+        return Collections.unmodifiableMap(bits);
+    }
+}
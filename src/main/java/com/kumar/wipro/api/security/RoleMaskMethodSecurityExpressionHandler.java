@@ -0,0 +1,169 @@
+package com.kumar.wipro.api.security;
+
+import java.util.function.Supplier;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionOperations;
+import org.springframework.security.core.Authentication;
+
+/**
+ * Answers {@code hasRole}/{@code hasAnyRole} in {@code @PreAuthorize} expressions from the role
+ * bitmask of a {@link UserPrincipal}, instead of collecting the principal's authority strings into
+ * a set and looking the role up in it on every call.
+ *
+ * Other principals, role names that are not a {@link com.kumar.wipro.api.model.RoleName}, and setups
+ * with a role hierarchy or a custom role prefix go through the standard expression root.
+ */
+public class RoleMaskMethodSecurityExpressionHandler extends DefaultMethodSecurityExpressionHandler {
+
+    private static final String DEFAULT_ROLE_PREFIX = "ROLE_";
+
+    @Override
+    public EvaluationContext createEvaluationContext(Supplier<Authentication> authentication, MethodInvocation mi) {
+        StandardEvaluationContext context = (StandardEvaluationContext) super.createEvaluationContext(authentication, mi);
+        if (getRoleHierarchy() == null && DEFAULT_ROLE_PREFIX.equals(getDefaultRolePrefix())) {
+            MethodSecurityExpressionOperations standard =
+                    (MethodSecurityExpressionOperations) context.getRootObject().getValue();
+            context.setRootObject(new RoleMaskExpressionRoot(standard, authentication));
+        }
+        return context;
+    }
+
+    /**
+     * Expression root that checks role bits and hands everything else to the standard root.
+     */
+    static final class RoleMaskExpressionRoot implements MethodSecurityExpressionOperations {
+
+        private final MethodSecurityExpressionOperations standard;
+
+        private final Supplier<Authentication> authentication;
+
+        RoleMaskExpressionRoot(MethodSecurityExpressionOperations standard, Supplier<Authentication> authentication) {
+            this.standard = standard;
+            this.authentication = authentication;
+        }
+
+        @Override
+        public boolean hasRole(String role) {
+            int bit = RoleAuthorities.bit(role);
+            UserPrincipal principal = userPrincipal();
+            if (bit == 0 || principal == null) {
+                return standard.hasRole(role);
+            }
+            return (principal.getRoleMask() & bit) != 0;
+        }
+
+        @Override
+        public boolean hasAnyRole(String... roles) {
+            UserPrincipal principal = userPrincipal();
+            if (principal == null) {
+                return standard.hasAnyRole(roles);
+            }
+            int mask = 0;
+            for (String role : roles) {
+                int bit = RoleAuthorities.bit(role);
+                if (bit == 0) {
+                    return standard.hasAnyRole(roles);
+                }
+                mask |= bit;
+            }
+            return (principal.getRoleMask() & mask) != 0;
+        }
+
+        private UserPrincipal userPrincipal() {
+            Authentication current = authentication.get();
+            if (current != null && current.getPrincipal() instanceof UserPrincipal principal) {
+                return principal;
+            }
+            return null;
+        }
+
+        public Object getPrincipal() {
+            Authentication current = getAuthentication();
+            return current == null ? null : current.getPrincipal();
+        }
+
+        @Override
+        public Authentication getAuthentication() {
+            return standard.getAuthentication();
+        }
+
+        @Override
+        public boolean hasAuthority(String authority) {
+            return standard.hasAuthority(authority);
+        }
+
+        @Override
+        public boolean hasAnyAuthority(String... authorities) {
+            return standard.hasAnyAuthority(authorities);
+        }
+
+        @Override
+        public boolean permitAll() {
+            return standard.permitAll();
+        }
+
+        @Override
+        public boolean denyAll() {
+            return standard.denyAll();
+        }
+
+        @Override
+        public boolean isAnonymous() {
+            return standard.isAnonymous();
+        }
+
+        @Override
+        public boolean isAuthenticated() {
+            return standard.isAuthenticated();
+        }
+
+        @Override
+        public boolean isRememberMe() {
+            return standard.isRememberMe();
+        }
+
+        @Override
+        public boolean isFullyAuthenticated() {
+            return standard.isFullyAuthenticated();
+        }
+
+        @Override
+        public boolean hasPermission(Object target, Object permission) {
+            return standard.hasPermission(target, permission);
+        }
+
+        @Override
+        public boolean hasPermission(Object targetId, String targetType, Object permission) {
+            return standard.hasPermission(targetId, targetType, permission);
+        }
+
+        @Override
+        public void setFilterObject(Object filterObject) {
+            standard.setFilterObject(filterObject);
+        }
+
+        @Override
+        public Object getFilterObject() {
+            return standard.getFilterObject();
+        }
+
+        @Override
+        public void setReturnObject(Object returnObject) {
+            standard.setReturnObject(returnObject);
+        }
+
+        @Override
+        public Object getReturnObject() {
+            return standard.getReturnObject();
+        }
+
+        @Override
+        public Object getThis() {
+            return standard.getThis();
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.kumar.wipro.api.security;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import com.kumar.wipro.api.exception.ServiceUnavailableException;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Opaque session tokens for {@code app.authMode=session}, as an alternative to JWTs.
+ *
+ * A session token is a random value with no meaning of its own; the session it names lives in an
+ * {@link OffHeapSessionTable}. Sessions expire after {@code app.sessionIdleTimeoutMs} without use.
+ * When the table is full, signin is answered with 503 until sessions expire or are logged out.
+ *
+ * The table belongs to one instance: with several replicas, each client has to be routed to the
+ * instance that created its session (sticky sessions), otherwise use {@code app.authMode=jwt}.
+ */
+@Service
+@ConditionalOnProperty(name = "app.authMode", havingValue = "session")
+public class SessionTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionTokenService.class);
+
+    public static final String TOKEN_PREFIX = "st_";
+
+    private static final int TOKEN_BYTES = 32;
+
+    private static final int MAX_TOKEN_LENGTH = 64;
+
+    // A full table is swept for expired sessions at most this often, so a flood of signins cannot
+    // turn every request into a scan of the whole table
+    private static final long MIN_RECLAIM_INTERVAL_MS = 1000;
+
+    private static final ThreadLocal<Lookup> LOOKUP = ThreadLocal.withInitial(Lookup::new);
+
+    private final SecureRandom random = new SecureRandom();
+
+    @Value("${app.sessionIdleTimeoutMs:1800000}")
+    private long idleTimeoutMs;
+
+    @Value("${app.sessionTableCapacity:262144}")
+    private int capacity;
+
+    @Value("${app.sessionSnapshotPath:}")
+    private String snapshotPath;
+
+    private final MeterRegistry meterRegistry;
+
+    private OffHeapSessionTable table;
+
+    private volatile long lastReclaimedAt;
+
+    public SessionTokenService(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void init() throws IOException {
+        if (StringUtils.hasText(snapshotPath)) {
+            Path path = Paths.get(snapshotPath);
+            table = OffHeapSessionTable.open(path, capacity);
+            logger.info("Session table mapped to {} with {} restored sessions", path, table.size());
+        } else {
+            table = OffHeapSessionTable.allocate(capacity);
+        }
+        Gauge.builder("sessions.active", table, OffHeapSessionTable::size)
+                .description("Live opaque sessions")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        table.close();
+    }
+
+    public static boolean isSessionToken(String token) {
+        return token != null && token.startsWith(TOKEN_PREFIX);
+    }
+
+    public long getIdleTimeoutMs() {
+        return idleTimeoutMs;
+    }
+
+    public String createSession(UserPrincipal principal) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = TOKEN_PREFIX + Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        long now = System.currentTimeMillis();
+        Lookup lookup = LOOKUP.get();
+        lookup.hash(token);
+        boolean stored = store(lookup, principal, now);
+        if (!stored && reclaimExpired(now) > 0) {
+            // Expired sessions normally wait for the next sweep; their slots are needed now
+            stored = store(lookup, principal, now);
+        }
+        if (!stored) {
+            logger.warn("Session table is full with {} active sessions", table.size());
+            throw new ServiceUnavailableException("Too many active sessions, please try again later");
+        }
+        return token;
+    }
+
+    /**
+     * Resolves a session token to its principal and slides its expiry forward, or returns null if the
+     * session is unknown or has expired.
+     */
+    public UserPrincipal authenticate(String token) {
+        if (!isSessionToken(token) || token.length() > MAX_TOKEN_LENGTH) {
+            return null;
+        }
+
+        long now = System.currentTimeMillis();
+        Lookup lookup = LOOKUP.get();
+        lookup.hash(token);
+        OffHeapSessionTable.SessionRecord record = lookup.record;
+        if (!table.get(lookup.keyHi, lookup.keyLo, now, record)) {
+            return null;
+        }
+
+        // Only write the new expiry once a minute's worth of it has been used up
+        if (record.expiresAt() - now < idleTimeoutMs - 60000) {
+            table.touch(lookup.keyHi, lookup.keyLo, now + idleTimeoutMs);
+        }
+
+        return new UserPrincipal(record.userId(), null, record.username(), null, null, record.tokenVersion(),
+                record.roleMask());
+    }
+
+    public void invalidate(String token) {
+        if (!isSessionToken(token) || token.length() > MAX_TOKEN_LENGTH) {
+            return;
+        }
+        Lookup lookup = LOOKUP.get();
+        lookup.hash(token);
+        table.remove(lookup.keyHi, lookup.keyLo);
+    }
+
+    @Scheduled(fixedDelayString = "${app.sessionSweepIntervalMs:60000}")
+    public void sweep() {
+        int removed = table.removeExpired(System.currentTimeMillis());
+        table.flush();
+        if (removed > 0) {
+            logger.debug("Expired {} sessions, {} still active", removed, table.size());
+        }
+    }
+
+    private boolean store(Lookup lookup, UserPrincipal principal, long now) {
+        return table.put(lookup.keyHi, lookup.keyLo, principal.getId(), principal.getTokenVersion(),
+                principal.getRoleMask(), principal.getUsername(), now + idleTimeoutMs);
+    }
+
+    private synchronized int reclaimExpired(long now) {
+        if (now - lastReclaimedAt < MIN_RECLAIM_INTERVAL_MS) {
+            return 0;
+        }
+        lastReclaimedAt = now;
+        return table.removeExpired(now);
+    }
+
+    int activeSessions() {
+        return table.size();
+    }
+
+    /**
+     * Per-thread scratch space for hashing a token into a table key without allocating.
+     */
+    private static final class Lookup {
+        private final MessageDigest digest;
+        private final byte[] input = new byte[MAX_TOKEN_LENGTH];
+        private final byte[] output = new byte[32];
+        private final OffHeapSessionTable.SessionRecord record = new OffHeapSessionTable.SessionRecord();
+        private long keyHi;
+        private long keyLo;
+
+        Lookup() {
+            try {
+                digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException ex) {
+                throw new IllegalStateException("SHA-256 is not available", ex);
+            }
+        }
+
+        void hash(String token) {
+            int length = Math.min(token.length(), MAX_TOKEN_LENGTH);
+            for (int i = 0; i < length; i++) {
+                input[i] = (byte) token.charAt(i);
+            }
+            digest.update(input, 0, length);
+            try {
+                digest.digest(output, 0, output.length);
+            } catch (DigestException ex) {
+                throw new IllegalStateException(ex);
+            }
+            keyHi = toLong(output, 0) | 1L;
+            keyLo = toLong(output, 8);
+        }
+
+        private static long toLong(byte[] bytes, int offset) {
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (bytes[offset + i] & 0xFF);
+            }
+            return value;
+        }
+    }
+}
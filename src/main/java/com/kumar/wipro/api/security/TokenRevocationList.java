@@ -0,0 +1,204 @@
+package com.kumar.wipro.api.security;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.kumar.wipro.api.model.RevokedToken;
+import com.kumar.wipro.api.repository.RevokedTokenRepository;
+import com.kumar.wipro.api.util.BloomFilter;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Tokens revoked before their expiry, identified by their jti claim.
+ *
+ * The per-request check goes through a Bloom filter first, so unrevoked tokens (nearly all of
+ * them) never touch the exact set. Each revocation is only kept until the token would have expired
+ * anyway: a timing wheel with one slot per sweep interval drops entries as their exp passes, and the
+ * filter is rebuilt from what is left, so memory follows the live revocations rather than history.
+ *
+ * Every revocation is also written to the revoked_tokens table, and each instance copies the rows
+ * other instances wrote every {@code app.jwtRevocationSyncIntervalMs}. A token revoked on one replica
+ * is therefore rejected by the others within that interval, and the list survives a restart.
+ */
+@Component
+public class TokenRevocationList {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationList.class);
+
+    private static final double FALSE_POSITIVE_RATE = 0.001;
+
+    // Rows are read again for this long, so clock skew between instances and slow commits lose nothing
+    private static final long SYNC_OVERLAP_MS = 60000;
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private final ConcurrentHashMap<String, Long> revoked = new ConcurrentHashMap<>();
+
+    private final ConcurrentLinkedQueue<String>[] wheel;
+
+    private final long tickMs;
+
+    private final long capacity;
+
+    private final Object writeLock = new Object();
+
+    private volatile BloomFilter filter;
+
+    private long lastSweptTick;
+
+    private long lastSyncedAt;
+
+    @SuppressWarnings("unchecked")
+    public TokenRevocationList(@Value("${app.jwtRevocationCapacity:100000}") long capacity,
+            @Value("${app.jwtRevocationSweepIntervalMs:60000}") long tickMs,
+            @Value("${app.jwtExpirationInMs}") long maxTokenLifetimeMs,
+            MeterRegistry meterRegistry) {
+        this.capacity = capacity;
+        this.tickMs = tickMs;
+        this.filter = new BloomFilter(capacity, FALSE_POSITIVE_RATE);
+        this.wheel = new ConcurrentLinkedQueue[(int) (maxTokenLifetimeMs / tickMs) + 2];
+        for (int i = 0; i < wheel.length; i++) {
+            wheel[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.lastSweptTick = System.currentTimeMillis() / tickMs;
+
+        Gauge.builder("jwt.revoked.active", revoked, ConcurrentHashMap::size)
+                .description("Revoked tokens that have not expired yet")
+                .register(meterRegistry);
+    }
+
+    public boolean isRevoked(String tokenId) {
+        return tokenId != null && filter.mightContain(tokenId) && revoked.containsKey(tokenId);
+    }
+
+    public void revoke(String tokenId, long expiresAtMillis) {
+        long now = System.currentTimeMillis();
+        if (tokenId == null || expiresAtMillis <= now || !apply(tokenId, expiresAtMillis)) {
+            return;
+        }
+
+        try {
+            revokedTokenRepository.save(new RevokedToken(tokenId, Instant.ofEpochMilli(expiresAtMillis),
+                    Instant.ofEpochMilli(now)));
+        } catch (DataIntegrityViolationException ex) {
+            // Another instance stored the same revocation first
+            logger.debug("Token {} was already revoked elsewhere", tokenId);
+        }
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    /**
+     * Applies the revocations other instances stored since the last sync; the first sync loads all
+     * that are still live.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.jwtRevocationSyncIntervalMs:5000}",
+            initialDelayString = "${app.jwtRevocationSyncIntervalMs:5000}")
+    public void sync() {
+        sync(System.currentTimeMillis());
+    }
+
+    synchronized void sync(long now) {
+        Instant since = Instant.ofEpochMilli(lastSyncedAt == 0 ? 0 : lastSyncedAt - SYNC_OVERLAP_MS);
+        for (RevokedToken token : revokedTokenRepository.findRevokedSince(since, Instant.ofEpochMilli(now))) {
+            apply(token.getTokenId(), token.getExpiresAt().toEpochMilli());
+        }
+        lastSyncedAt = now;
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwtRevocationSweepIntervalMs:60000}")
+    public void sweep() {
+        sweep(System.currentTimeMillis());
+    }
+
+    void sweep(long now) {
+        // Every instance runs this; deleting rows another instance already deleted is harmless
+        revokedTokenRepository.deleteExpired(Instant.ofEpochMilli(now));
+
+        synchronized (writeLock) {
+            long currentTick = now / tickMs;
+            // After a long pause one pass over the whole wheel is enough
+            long firstTick = Math.max(lastSweptTick + 1, currentTick - wheel.length + 1);
+            lastSweptTick = currentTick;
+
+            int removed = 0;
+            for (long tick = firstTick; tick <= currentTick; tick++) {
+                List<String> due = drain(wheel[slot(tick)]);
+                for (String tokenId : due) {
+                    Long expiresAt = revoked.get(tokenId);
+                    if (expiresAt == null) {
+                        continue;
+                    }
+                    if (expiresAt <= now) {
+                        revoked.remove(tokenId);
+                        removed++;
+                    } else {
+                        // Expiry lies beyond one turn of the wheel, park it again
+                        schedule(tokenId, expiresAt);
+                    }
+                }
+            }
+
+            if (removed > 0) {
+                rebuildFilter();
+                logger.debug("Dropped {} expired token revocations, {} still active", removed, revoked.size());
+            }
+        }
+    }
+
+    private boolean apply(String tokenId, long expiresAtMillis) {
+        synchronized (writeLock) {
+            if (revoked.putIfAbsent(tokenId, expiresAtMillis) != null) {
+                return false;
+            }
+            filter.put(tokenId);
+            schedule(tokenId, expiresAtMillis);
+            return true;
+        }
+    }
+
+    private void schedule(String tokenId, long expiresAtMillis) {
+        long tick = Math.max(expiresAtMillis / tickMs + 1, lastSweptTick + 1);
+        wheel[slot(tick)].add(tokenId);
+    }
+
+    private void rebuildFilter() {
+        BloomFilter rebuilt = new BloomFilter(Math.max(capacity, revoked.size()), FALSE_POSITIVE_RATE);
+        for (String tokenId : revoked.keySet()) {
+            rebuilt.put(tokenId);
+        }
+        filter = rebuilt;
+    }
+
+    private int slot(long tick) {
+        return (int) Math.floorMod(tick, (long) wheel.length);
+    }
+
+    private static List<String> drain(ConcurrentLinkedQueue<String> queue) {
+        List<String> drained = new ArrayList<>();
+        String tokenId;
+        while ((tokenId = queue.poll()) != null) {
+            drained.add(tokenId);
+        }
+        return drained;
+    }
+}
@@ -1,15 +1,14 @@
 package com.kumar.wipro.api.security;
 
 import java.util.Collection;
-import java.util.List;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.kumar.wipro.api.model.Role;
+import com.kumar.wipro.api.model.RoleName;
 import com.kumar.wipro.api.model.User;
 
 public class UserPrincipal implements UserDetails {
@@ -25,21 +24,48 @@ public class UserPrincipal implements UserDetails {
     @JsonIgnore
     private String password;
 
+    @JsonIgnore
+    private int tokenVersion;
+
+    // Roles as RoleAuthorities bits; authorities is the matching shared list
+    @JsonIgnore
+    private int roleMask;
+
     private Collection<? extends GrantedAuthority> authorities;
 
     public UserPrincipal(Long id, String name, String username, String email, String password, Collection<? extends GrantedAuthority> authorities) {
+        this(id, name, username, email, password, 0, authorities);
+    }
+
+    public UserPrincipal(Long id, String name, String username, String email, String password, int tokenVersion,
+            Collection<? extends GrantedAuthority> authorities) {
         this.id = id;
         this.name = name;
         this.username = username;
         this.email = email;
         this.password = password;
+        this.tokenVersion = tokenVersion;
+        this.roleMask = RoleAuthorities.mask(authorities);
         this.authorities = authorities;
     }
 
+    public UserPrincipal(Long id, String name, String username, String email, String password, int tokenVersion,
+            int roleMask) {
+        this.id = id;
+        this.name = name;
+        this.username = username;
+        this.email = email;
+        this.password = password;
+        this.tokenVersion = tokenVersion;
+        this.roleMask = roleMask;
+        this.authorities = RoleAuthorities.authorities(roleMask);
+    }
+
     public static UserPrincipal create(User user) {
-        List<GrantedAuthority> authorities = user.getRoles().stream().map(role ->
-                new SimpleGrantedAuthority(role.getName().name())
-        ).collect(Collectors.toList());
+        int roleMask = 0;
+        for (Role role : user.getRoles()) {
+            roleMask |= RoleAuthorities.bit(role.getName());
+        }
 
         return new UserPrincipal(
                 user.getId(),
@@ -47,7 +73,8 @@ public class UserPrincipal implements UserDetails {
                 user.getUsername(),
                 user.getEmail(),
                 user.getPassword(),
-                authorities
+                user.getTokenVersion(),
+                roleMask
         );
     }
 
@@ -63,6 +90,18 @@ public class UserPrincipal implements UserDetails {
         return email;
     }
 
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
+
+    public int getRoleMask() {
+        return roleMask;
+    }
+
+    public boolean hasRole(RoleName role) {
+        return (roleMask & RoleAuthorities.bit(role)) != 0;
+    }
+
     @Override
     public String getUsername() {
         return username;
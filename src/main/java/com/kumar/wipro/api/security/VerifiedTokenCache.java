@@ -0,0 +1,103 @@
+package com.kumar.wipro.api.security;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Remembers tokens that already passed signature verification so repeat requests with the same
+ * bearer token skip the HMAC check and claims parsing. Entries are keyed by the SHA-256 digest of
+ * the raw token and never outlive the token's own expiry.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    });
+
+    private final Cache<TokenDigest, JwtVerificationResult> cache;
+
+    public VerifiedTokenCache(@Value("${app.jwtCacheMaxSize:10000}") long maxSize, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.verified");
+    }
+
+    public JwtVerificationResult get(String token) {
+        return cache.getIfPresent(TokenDigest.of(token));
+    }
+
+    public void put(String token, JwtVerificationResult result) {
+        if (result.isValid() && remainingMillis(result) > 0) {
+            cache.put(TokenDigest.of(token), result);
+        }
+    }
+
+    public void invalidate(String token) {
+        cache.invalidate(TokenDigest.of(token));
+    }
+
+    public long estimatedSize() {
+        return cache.estimatedSize();
+    }
+
+    private static long remainingMillis(JwtVerificationResult result) {
+        Date expiration = result.getClaims().getExpiration();
+        return expiration == null ? Long.MAX_VALUE : expiration.getTime() - System.currentTimeMillis();
+    }
+
+    private static final class TokenExpiry implements Expiry<TokenDigest, JwtVerificationResult> {
+
+        @Override
+        public long expireAfterCreate(TokenDigest key, JwtVerificationResult value, long currentTime) {
+            long remaining = remainingMillis(value);
+            return remaining == Long.MAX_VALUE ? Long.MAX_VALUE : TimeUnit.MILLISECONDS.toNanos(Math.max(remaining, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(TokenDigest key, JwtVerificationResult value, long currentTime,
+                long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(TokenDigest key, JwtVerificationResult value, long currentTime,
+                long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    /**
+     * Full 256-bit digest held as four longs, so the key is compact and a collision cannot
+     * let one token borrow another token's verified claims.
+     */
+    record TokenDigest(long h0, long h1, long h2, long h3) {
+
+        static TokenDigest of(String token) {
+            MessageDigest digest = SHA_256.get();
+            ByteBuffer hash = ByteBuffer.wrap(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+            return new TokenDigest(hash.getLong(), hash.getLong(), hash.getLong(), hash.getLong());
+        }
+    }
+}
@@ -1,42 +1,106 @@
 package com.kumar.wipro.api.service;
 
+import java.util.Optional;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.kumar.wipro.api.model.User;
+import com.kumar.wipro.api.model.UserChangedEvent;
 import com.kumar.wipro.api.repository.UserRepository;
 import com.kumar.wipro.api.security.UserPrincipal;
+import com.kumar.wipro.api.util.SingleFlight;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     @Autowired
     UserRepository userRepository;
 
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    // Upper bound on how long a request waits for another request's load of the same user
+    @Value("${app.userLoadTimeoutMs:2000}")
+    long loadTimeoutMs;
+
+    // Concurrent loads of one user share a single query; principals are immutable, so sharing is safe
+    private final SingleFlight<String, UserDetails> loadsByIdentifier = new SingleFlight<>();
+
+    private final SingleFlight<Long, UserDetails> loadsById = new SingleFlight<>();
+
+    @PostConstruct
+    void registerMetrics() {
+        FunctionCounter.builder("users.load.coalesced", loadsByIdentifier, SingleFlight::sharedCount)
+                .description("User loads answered by a concurrent load of the same user")
+                .tag("key", "username")
+                .register(meterRegistry);
+        FunctionCounter.builder("users.load.coalesced", loadsById, SingleFlight::sharedCount)
+                .description("User loads answered by a concurrent load of the same user")
+                .tag("key", "id")
+                .register(meterRegistry);
+    }
+
+    // Not transactional: the user and its roles come back from one query, and callers waiting on
+    // another caller's load should not hold a connection meanwhile
     @Override
-    @Transactional
     public UserDetails loadUserByUsername(String usernameOrEmail)
             throws UsernameNotFoundException {
-        // Let people login with either username or email
-        User user = userRepository.findByUsernameOrEmail(usernameOrEmail, usernameOrEmail)
-                .orElseThrow(() -> 
-                        new UsernameNotFoundException("User not found with username or email : " + usernameOrEmail)
-        );
+        // Let people login with either username or email. New usernames cannot contain '@', so an
+        // identifier without one is only looked up as a username; one with it is looked up as an email
+        // first, and as a username after that for accounts created before the rule
+        String identifier = User.normalize(usernameOrEmail);
+        return loadsByIdentifier.load(identifier, loadTimeoutMs, () -> {
+            Optional<User> found = isEmail(identifier)
+                    ? userRepository.findWithRolesByEmailNormalized(identifier)
+                            .or(() -> userRepository.findWithRolesByUsernameNormalized(identifier))
+                    : userRepository.findWithRolesByUsernameNormalized(identifier);
+            User user = found.orElseThrow(() ->
+                    new UsernameNotFoundException("User not found with username or email : " + usernameOrEmail)
+            );
 
-        return UserPrincipal.create(user);
+            return UserPrincipal.create(user);
+        });
+    }
+
+    static boolean isEmail(String identifier) {
+        return identifier != null && identifier.indexOf('@') >= 0;
     }
 
     // This method is used by JWTAuthenticationFilter
-    @Transactional
     public UserDetails loadUserById(Long id) {
-        User user = userRepository.findById(id).orElseThrow(
-            () -> new UsernameNotFoundException("User not found with id : " + id)
-        );
+        return loadsById.load(id, loadTimeoutMs, () -> {
+            User user = userRepository.findWithRolesById(id).orElseThrow(
+                () -> new UsernameNotFoundException("User not found with id : " + id)
+            );
+
+            return UserPrincipal.create(user);
+        });
+    }
+
+    // Called after a successful login whose stored hash needs re-encoding
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        UserPrincipal principal = (UserPrincipal) userDetails;
+        userRepository.updatePassword(principal.getId(), newPassword);
+        eventPublisher.publishEvent(new UserChangedEvent(principal.getId(), principal.getUsername()));
 
-        return UserPrincipal.create(user);
+        return new UserPrincipal(principal.getId(), principal.getName(), principal.getUsername(),
+                principal.getEmail(), newPassword, principal.getTokenVersion(), principal.getRoleMask());
     }
 }
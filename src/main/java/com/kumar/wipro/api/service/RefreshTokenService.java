@@ -0,0 +1,144 @@
+package com.kumar.wipro.api.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.kumar.wipro.api.exception.InvalidTokenException;
+import com.kumar.wipro.api.model.RefreshToken;
+import com.kumar.wipro.api.repository.RefreshTokenRepository;
+import com.kumar.wipro.api.security.UserPrincipal;
+
+/**
+ * Issues and rotates opaque refresh tokens. Each token can be exchanged exactly once; presenting a
+ * token that was already exchanged is treated as theft and revokes its whole rotation chain.
+ *
+ * Tokens are 256 random bits, so a plain SHA-256 is a sufficient at-rest hash and refreshing never
+ * has to pay for a password hash.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final SecureRandom random = new SecureRandom();
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private CustomUserDetailsService customUserDetailsService;
+
+    @Value("${app.refreshTokenExpirationInMs:1209600000}")
+    private long refreshTokenExpirationInMs;
+
+    @Value("${app.refreshTokenCleanupBatchSize:1000}")
+    private int cleanupBatchSize;
+
+    /**
+     * Starts a new rotation chain for a freshly signed-in user.
+     */
+    @Transactional
+    public String issue(UserPrincipal principal) {
+        return issue(principal.getId(), random.nextLong(), principal.getTokenVersion());
+    }
+
+    /**
+     * Exchanges a refresh token for a new one from the same chain and returns the principal to issue
+     * the new access token for. The presented token can never be used again.
+     */
+    @Transactional(noRollbackFor = InvalidTokenException.class)
+    public Rotation rotate(String rawToken) {
+        RefreshToken token = refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .orElseThrow(() -> new InvalidTokenException("Invalid refresh token"));
+
+        if (token.isRevoked() || token.getExpiresAt().isBefore(Instant.now())) {
+            throw new InvalidTokenException("Refresh token expired or revoked");
+        }
+
+        // Conditional update so two concurrent refreshes cannot both win
+        if (refreshTokenRepository.markUsed(token.getId(), Instant.now()) == 0) {
+            refreshTokenRepository.revokeFamily(token.getFamilyId());
+            logger.warn("Refresh token reuse detected for user {}, revoked its token family", token.getUserId());
+            throw new InvalidTokenException("Refresh token already used");
+        }
+
+        UserPrincipal principal = (UserPrincipal) customUserDetailsService.loadUserById(token.getUserId());
+        if (principal.getTokenVersion() != token.getTokenVersion()) {
+            // The user signed out everywhere (or was revoked) after this chain started
+            refreshTokenRepository.revokeFamily(token.getFamilyId());
+            throw new InvalidTokenException("Refresh token revoked");
+        }
+
+        String next = issue(principal.getId(), token.getFamilyId(), principal.getTokenVersion());
+        return new Rotation(principal, next);
+    }
+
+    /**
+     * Ends the chain the token belongs to, e.g. on sign-out. Unknown tokens are ignored.
+     */
+    @Transactional
+    public void revoke(String rawToken) {
+        refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId()));
+    }
+
+    @Scheduled(fixedDelayString = "${app.refreshTokenCleanupIntervalMs:3600000}")
+    public void purgeExpired() {
+        int purged = 0;
+        int deleted;
+        do {
+            deleted = purgeExpiredBatch();
+            purged += deleted;
+        } while (deleted == cleanupBatchSize);
+
+        if (purged > 0) {
+            logger.info("Purged {} expired refresh tokens", purged);
+        }
+    }
+
+    // Each batch commits on its own, so cleanup never holds long locks on a large table
+    private int purgeExpiredBatch() {
+        List<Long> ids = refreshTokenRepository.findExpiredIds(Instant.now(), PageRequest.of(0, cleanupBatchSize));
+        if (!ids.isEmpty()) {
+            refreshTokenRepository.deleteAllByIdInBatch(ids);
+        }
+        return ids.size();
+    }
+
+    private String issue(Long userId, long familyId, int tokenVersion) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        Instant expiresAt = Instant.now().plusMillis(refreshTokenExpirationInMs);
+        refreshTokenRepository.save(new RefreshToken(hash(rawToken), userId, familyId, tokenVersion, expiresAt));
+        return rawToken;
+    }
+
+    private static byte[] hash(String rawToken) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(rawToken.getBytes(StandardCharsets.US_ASCII));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    public record Rotation(UserPrincipal principal, String refreshToken) {
+    }
+}
@@ -0,0 +1,44 @@
+package com.kumar.wipro.api.service;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+import com.kumar.wipro.api.model.Role;
+import com.kumar.wipro.api.model.RoleName;
+
+/**
+ * The role rows, loaded by {@code DataInitializer} while the context starts, before any request is
+ * served. Roles are reference data that never change while the application runs, so they are handed
+ * out from memory instead of being looked up per request. The returned entities are detached and only
+ * good for referencing.
+ */
+@Component
+public class RoleRegistry {
+
+    private volatile Map<RoleName, Role> roles = Collections.emptyMap();
+
+    public void load(Collection<Role> loaded) {
+        Map<RoleName, Role> byName = new EnumMap<>(RoleName.class);
+        for (Role role : loaded) {
+            byName.put(role.getName(), role);
+        }
+        for (RoleName name : RoleName.values()) {
+            if (!byName.containsKey(name)) {
+                throw new IllegalStateException("Role " + name + " is missing");
+            }
+        }
+        roles = Collections.unmodifiableMap(byName);
+    }
+
+    public Role get(RoleName name) {
+        Role role = roles.get(name);
+        if (role == null) {
+            throw new IllegalStateException("Roles have not been loaded");
+        }
+        return role;
+    }
+}
@@ -0,0 +1,103 @@
+package com.kumar.wipro.api.service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.kumar.wipro.api.model.UserChangedEvent;
+import com.kumar.wipro.api.repository.UserRepository;
+
+/**
+ * Current token version per user. Every token carries the version it was issued under, and
+ * bumping a user's version invalidates all of their outstanding tokens at once.
+ *
+ * Versions are read through a bounded id -> version cache, so the per-request check is a hash
+ * probe; the database is only asked the first time a user is seen. Users that do not exist are
+ * remembered too, so tokens of deleted users do not reach the database on every request. The cache
+ * is refreshed in place on a schedule, in batches, so bumps and deletes made through other instances
+ * are picked up without every user missing the cache at the same moment.
+ *
+ * Versions only grow, and the cache never moves one backwards: a miss is loaded under the entry's
+ * lock, so a bump made meanwhile waits for the load and then raises it, and refreshes only touch
+ * entries that are still cached. When the cache is full it evicts the users seen least, one by one.
+ */
+@Service
+public class TokenVersionService {
+
+    public static final int UNKNOWN_USER = -1;
+
+    // A power of two, so every batch shares one padded IN-list statement
+    private static final int REFRESH_BATCH_SIZE = 1024;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private final Cache<Long, Integer> versions;
+
+    public TokenVersionService(@Value("${app.tokenVersionCacheMaxSize:1000000}") long maxSize) {
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    public int currentVersion(long userId) {
+        return versions.get(userId, id -> userRepository.findTokenVersionById(id).orElse(UNKNOWN_USER));
+    }
+
+    public boolean isCurrent(long userId, int tokenVersion) {
+        return currentVersion(userId) == tokenVersion;
+    }
+
+    /**
+     * Invalidates every token issued to the user so far, e.g. after a password or role change.
+     */
+    public int invalidateTokens(long userId) {
+        if (userRepository.incrementTokenVersion(userId) == 0) {
+            remember(userId, UNKNOWN_USER);
+            return UNKNOWN_USER;
+        }
+        eventPublisher.publishEvent(new UserChangedEvent(userId, null));
+        int version = userRepository.findTokenVersionById(userId).orElse(UNKNOWN_USER);
+        remember(userId, version);
+        return version;
+    }
+
+    /**
+     * Re-reads the versions of every cached user, so bumps and deletes made by other instances are
+     * picked up. Entries stay in place meanwhile, so requests keep being answered from memory.
+     */
+    @Scheduled(fixedDelayString = "${app.tokenVersionRefreshIntervalMs:300000}",
+            initialDelayString = "${app.tokenVersionRefreshIntervalMs:300000}")
+    public void refresh() {
+        List<Long> userIds = new ArrayList<>(versions.asMap().keySet());
+        for (int from = 0; from < userIds.size(); from += REFRESH_BATCH_SIZE) {
+            List<Long> batch = userIds.subList(from, Math.min(from + REFRESH_BATCH_SIZE, userIds.size()));
+            Set<Long> deleted = new HashSet<>(batch);
+            for (Object[] row : userRepository.findTokenVersionsByIdIn(batch)) {
+                // Evicted users are left out: a read older than a bump must not come back as a new entry
+                versions.asMap().computeIfPresent((Long) row[0], (id, cached) -> Math.max(cached, (Integer) row[1]));
+                deleted.remove(row[0]);
+            }
+            for (Long userId : deleted) {
+                versions.asMap().computeIfPresent(userId, (id, cached) -> UNKNOWN_USER);
+            }
+        }
+    }
+
+    private void remember(long userId, int version) {
+        // Versions only grow, so a slow loader can never put back an older one
+        versions.asMap().merge(userId, version, Math::max);
+    }
+}
@@ -0,0 +1,172 @@
+package com.kumar.wipro.api.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.kumar.wipro.api.model.User;
+import com.kumar.wipro.api.model.UserChangedEvent;
+import com.kumar.wipro.api.repository.UserRepository;
+import com.kumar.wipro.api.util.BloomFilter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Answers whether a username or email is still free, for signup forms that ask on every keystroke.
+ *
+ * Bloom filters of the normalized usernames and emails sit in front of the database: a value the
+ * filter has never seen is definitely available and costs no query, and only probable collisions
+ * are confirmed with an exact lookup on the unique column. Users are added to the filters once their
+ * insert commits. Filters cannot forget, so they are rebuilt from the table on a schedule, which
+ * drops deleted users and resizes them for the current user count so the false-positive rate stays
+ * near {@code app.availabilityFalsePositiveRate}. Until the first build, every check goes to the
+ * database.
+ */
+@Service
+public class UserAvailabilityService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserAvailabilityService.class);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final long expectedUsers;
+
+    private final double falsePositiveRate;
+
+    private final int fetchSize;
+
+    private final Object lock = new Object();
+
+    private volatile Filters filters;
+
+    // Set while a rebuild reads the table, so users committed meanwhile also reach the new filters
+    private List<String[]> committedDuringRebuild;
+
+    private final Counter answeredByFilter;
+
+    private final Counter answeredByDatabase;
+
+    public UserAvailabilityService(@Value("${app.availabilityExpectedUsers:100000}") long expectedUsers,
+            @Value("${app.availabilityFalsePositiveRate:0.01}") double falsePositiveRate,
+            @Value("${app.availabilityFetchSize:1000}") int fetchSize,
+            MeterRegistry meterRegistry) {
+        this.expectedUsers = expectedUsers;
+        this.falsePositiveRate = falsePositiveRate;
+        this.fetchSize = fetchSize;
+
+        this.answeredByFilter = Counter.builder("users.availability.checks")
+                .description("Username and email availability checks")
+                .tag("source", "filter")
+                .register(meterRegistry);
+        this.answeredByDatabase = Counter.builder("users.availability.checks")
+                .description("Username and email availability checks")
+                .tag("source", "database")
+                .register(meterRegistry);
+    }
+
+    public boolean isUsernameAvailable(String username) {
+        Filters current = filters;
+        return isAvailable(User.normalize(username), current == null ? null : current.usernames,
+                userRepository::existsByUsernameNormalized);
+    }
+
+    public boolean isEmailAvailable(String email) {
+        Filters current = filters;
+        return isAvailable(User.normalize(email), current == null ? null : current.emails,
+                userRepository::existsByEmailNormalized);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.availabilityRebuildIntervalMs:3600000}",
+            initialDelayString = "${app.availabilityRebuildIntervalMs:3600000}")
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long started = System.nanoTime();
+        List<String[]> committed = new ArrayList<>();
+        // Published before the first read, so no commit can fall between what is read and what is collected
+        synchronized (lock) {
+            committedDuringRebuild = committed;
+        }
+        try {
+            // Twice the current users, so signups until the next rebuild do not push the rate up much
+            long capacity = Math.max(expectedUsers, userRepository.count() * 2);
+            Filters next = new Filters(new BloomFilter(capacity, falsePositiveRate),
+                    new BloomFilter(capacity, falsePositiveRate));
+            try (Stream<Object[]> keys = userRepository.streamLoginKeys(fetchSize)) {
+                keys.forEach(key -> next.put((String) key[0], (String) key[1]));
+            }
+            synchronized (lock) {
+                for (String[] key : committed) {
+                    next.put(key[0], key[1]);
+                }
+                filters = next;
+            }
+            logger.debug("Rebuilt availability filters of {} bits in {} ms", next.usernames.bitSize(),
+                    (System.nanoTime() - started) / 1_000_000);
+        } finally {
+            synchronized (lock) {
+                committedDuringRebuild = null;
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        // Only the token version bump names no username, and it never changes either column
+        if (event.userId() == null || event.username() == null) {
+            return;
+        }
+        userRepository.findProfileById(event.userId()).ifPresent(profile -> {
+            String username = User.normalize(profile.getUsername());
+            String email = User.normalize(profile.getEmail());
+            synchronized (lock) {
+                if (filters != null) {
+                    filters.put(username, email);
+                }
+                if (committedDuringRebuild != null) {
+                    committedDuringRebuild.add(new String[] { username, email });
+                }
+            }
+        });
+    }
+
+    private boolean isAvailable(String key, BloomFilter filter, Predicate<String> exists) {
+        if (filter != null && !filter.mightContain(key)) {
+            answeredByFilter.increment();
+            return true;
+        }
+        answeredByDatabase.increment();
+        return !exists.test(key);
+    }
+
+    private static final class Filters {
+
+        private final BloomFilter usernames;
+
+        private final BloomFilter emails;
+
+        Filters(BloomFilter usernames, BloomFilter emails) {
+            this.usernames = usernames;
+            this.emails = emails;
+        }
+
+        void put(String username, String email) {
+            usernames.put(username);
+            emails.put(email);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.kumar.wipro.api.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.kumar.wipro.api.dto.PublicUserProfile;
+import com.kumar.wipro.api.dto.UserBatchResponse;
+import com.kumar.wipro.api.model.User;
+import com.kumar.wipro.api.repository.UserRepository;
+
+/**
+ * Resolves many usernames and ids at once; usernames match case-insensitively and are answered under
+ * the key they were requested with. Keys found in the profile cache are answered from it;
+ * the rest are read with {@code IN} queries of at most {@code app.userBatchChunkSize} keys, so a
+ * full batch costs a query or two instead of a round trip per key.
+ */
+@Service
+public class UserBatchService {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserProfileCache userProfileCache;
+
+    @Value("${app.userBatchChunkSize:500}")
+    private int chunkSize;
+
+    public UserBatchResponse lookup(List<String> usernames, List<Long> ids) {
+        Set<String> requestedUsernames = new LinkedHashSet<>(usernames);
+        Map<String, Optional<PublicUserProfile>> byUsername = requestedUsernames.isEmpty()
+                ? Map.of()
+                : userProfileCache.getAll(requestedUsernames, this::loadByUsername);
+
+        Map<String, PublicUserProfile> foundUsernames = new LinkedHashMap<>();
+        List<String> missingUsernames = new ArrayList<>();
+        for (String username : requestedUsernames) {
+            Optional<PublicUserProfile> profile = byUsername.getOrDefault(User.normalize(username), Optional.empty());
+            if (profile.isPresent()) {
+                foundUsernames.put(username, profile.get());
+            } else {
+                missingUsernames.add(username);
+            }
+        }
+
+        Set<Long> requestedIds = new LinkedHashSet<>(ids);
+        Map<Long, PublicUserProfile> byId = new HashMap<>();
+        List<Long> uncached = new ArrayList<>();
+        for (Long id : requestedIds) {
+            Optional<PublicUserProfile> cached = userProfileCache.getIfPresent(id);
+            if (cached.isPresent()) {
+                byId.put(id, cached.get());
+            } else {
+                uncached.add(id);
+            }
+        }
+        byId.putAll(loadInChunks(uncached, userRepository::findPublicProfilesByIdIn, PublicUserProfile::getId));
+
+        Map<Long, PublicUserProfile> foundIds = new LinkedHashMap<>();
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : requestedIds) {
+            PublicUserProfile profile = byId.get(id);
+            if (profile != null) {
+                foundIds.put(id, profile);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new UserBatchResponse(foundUsernames, foundIds, missingUsernames, missingIds);
+    }
+
+    private Map<String, Optional<PublicUserProfile>> loadByUsername(Set<? extends String> usernames) {
+        Map<String, PublicUserProfile> found = loadInChunks(new ArrayList<>(usernames),
+                userRepository::findPublicProfilesByUsernameNormalizedIn, profile -> User.normalize(profile.getUsername()));
+        // Every username gets an entry, so unknown ones are remembered like single lookups do
+        Map<String, Optional<PublicUserProfile>> loaded = new HashMap<>();
+        for (String username : usernames) {
+            loaded.put(username, Optional.ofNullable(found.get(username)));
+        }
+        return loaded;
+    }
+
+    private <K> Map<K, PublicUserProfile> loadInChunks(List<K> keys,
+            Function<Collection<K>, List<PublicUserProfile>> query, Function<PublicUserProfile, K> keyOf) {
+        Map<K, PublicUserProfile> found = new HashMap<>();
+        for (int from = 0; from < keys.size(); from += chunkSize) {
+            List<K> chunk = keys.subList(from, Math.min(keys.size(), from + chunkSize));
+            for (PublicUserProfile profile : query.apply(chunk)) {
+                found.put(keyOf.apply(profile), profile);
+            }
+        }
+        return found;
+    }
+}
@@ -0,0 +1,91 @@
+package com.kumar.wipro.api.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kumar.wipro.api.dto.UserExportRow;
+import com.kumar.wipro.api.repository.UserRepository;
+
+/**
+ * Writes the user directory as NDJSON, one user with its roles per line, while the rows are read.
+ *
+ * Rows come off a forward-only cursor {@code app.userExportFetchSize} at a time and go straight
+ * into a JSON generator over the response stream; only the user being written is held, so an
+ * export of any size runs in constant memory.
+ */
+@Service
+public class UserExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserExportService.class);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.userExportFetchSize:1000}")
+    private int fetchSize;
+
+    /**
+     * Writes every user to {@code out} and returns how many were written. Does not close {@code out}.
+     */
+    @Transactional(readOnly = true)
+    public long export(OutputStream out) throws IOException {
+        long started = System.nanoTime();
+        long users = 0;
+        try (Stream<UserExportRow> rows = userRepository.streamExportRows(fetchSize);
+                JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Lines are ended explicitly, so no separator between root values
+            generator.setRootValueSeparator(null);
+            Long current = null;
+            Iterator<UserExportRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                UserExportRow row = iterator.next();
+                if (!row.getId().equals(current)) {
+                    if (current != null) {
+                        endUser(generator);
+                    }
+                    startUser(generator, row);
+                    current = row.getId();
+                    users++;
+                }
+                if (row.getRole() != null) {
+                    generator.writeString(row.getRole().name());
+                }
+            }
+            if (current != null) {
+                endUser(generator);
+            }
+        }
+        logger.info("Exported {} users in {} ms", users, (System.nanoTime() - started) / 1_000_000);
+        return users;
+    }
+
+    private static void startUser(JsonGenerator generator, UserExportRow row) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", row.getId());
+        generator.writeStringField("name", row.getName());
+        generator.writeStringField("username", row.getUsername());
+        generator.writeStringField("email", row.getEmail());
+        generator.writeArrayFieldStart("roles");
+    }
+
+    private static void endUser(JsonGenerator generator) throws IOException {
+        generator.writeEndArray();
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+}
@@ -0,0 +1,158 @@
+package com.kumar.wipro.api.service;
+
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.kumar.wipro.api.dto.PublicUserProfile;
+import com.kumar.wipro.api.model.User;
+import com.kumar.wipro.api.model.UserChangedEvent;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Public profiles by normalized username, in front of the database. Caffeine's W-TinyLFU admission keeps the
+ * popular profiles when the cache is full, entries expire after {@code app.profileCacheTtlMs}, and
+ * unknown usernames are remembered for the shorter {@code app.profileCacheNegativeTtlMs}.
+ *
+ * Entries are dropped once a write to the user commits. Bulk updates only name the user id, so the
+ * usernames of cached profiles are also indexed by id.
+ */
+@Component
+public class UserProfileCache {
+
+    private final Cache<String, Optional<PublicUserProfile>> cache;
+
+    private final ConcurrentHashMap<Long, String> usernamesById = new ConcurrentHashMap<>();
+
+    public UserProfileCache(@Value("${app.profileCacheMaxSize:10000}") long maxSize,
+            @Value("${app.profileCacheTtlMs:60000}") long ttlMs,
+            @Value("${app.profileCacheNegativeTtlMs:5000}") long negativeTtlMs,
+            MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new ProfileExpiry(TimeUnit.MILLISECONDS.toNanos(ttlMs),
+                        TimeUnit.MILLISECONDS.toNanos(negativeTtlMs)))
+                .removalListener(this::forget)
+                // Run the listener inline so the id index never lags behind the cache
+                .executor(Runnable::run)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "users.profile");
+        Gauge.builder("users.profile.hit.ratio", cache, c -> c.stats().hitRate())
+                .description("Share of profile lookups answered from the cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * The profile of the user, matched case-insensitively; {@code loader} is given the normalized
+     * username.
+     */
+    public Optional<PublicUserProfile> get(String username, Function<String, Optional<PublicUserProfile>> loader) {
+        return cache.get(User.normalize(username), key -> {
+            Optional<PublicUserProfile> profile = loader.apply(key);
+            profile.ifPresent(found -> usernamesById.put(found.getId(), key));
+            return profile;
+        });
+    }
+
+    /**
+     * Cached profiles for all the usernames, keyed by normalized username; the ones not cached are
+     * loaded with a single call to {@code loader}, which is given normalized usernames and returns a
+     * profile or an empty optional for each of them.
+     */
+    public Map<String, Optional<PublicUserProfile>> getAll(Set<String> usernames,
+            Function<Set<? extends String>, Map<String, Optional<PublicUserProfile>>> loader) {
+        Set<String> normalized = new LinkedHashSet<>();
+        for (String username : usernames) {
+            normalized.add(User.normalize(username));
+        }
+        return cache.getAll(normalized, missing -> {
+            Map<String, Optional<PublicUserProfile>> loaded = loader.apply(missing);
+            loaded.forEach((username, profile) ->
+                    profile.ifPresent(found -> usernamesById.put(found.getId(), username)));
+            return loaded;
+        });
+    }
+
+    /**
+     * The cached profile of a user, if it is cached under the username it was last looked up by.
+     */
+    public Optional<PublicUserProfile> getIfPresent(long userId) {
+        String username = usernamesById.get(userId);
+        if (username == null) {
+            return Optional.empty();
+        }
+        Optional<PublicUserProfile> profile = cache.getIfPresent(username);
+        return profile == null ? Optional.empty() : profile;
+    }
+
+    public void invalidate(Long userId, String username) {
+        if (userId != null) {
+            String cached = usernamesById.get(userId);
+            if (cached != null) {
+                cache.invalidate(cached);
+            }
+        }
+        if (username != null) {
+            // Also drops a cached "not found" for a username that was just taken
+            cache.invalidate(User.normalize(username));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        invalidate(event.userId(), event.username());
+    }
+
+    public long estimatedSize() {
+        return cache.estimatedSize();
+    }
+
+    private void forget(String username, Optional<PublicUserProfile> profile, RemovalCause cause) {
+        if (username != null && profile != null && profile.isPresent()) {
+            usernamesById.remove(profile.get().getId(), username);
+        }
+    }
+
+    private static final class ProfileExpiry implements Expiry<String, Optional<PublicUserProfile>> {
+
+        private final long ttlNanos;
+
+        private final long negativeTtlNanos;
+
+        ProfileExpiry(long ttlNanos, long negativeTtlNanos) {
+            this.ttlNanos = ttlNanos;
+            this.negativeTtlNanos = negativeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterCreate(String key, Optional<PublicUserProfile> value, long currentTime) {
+            return value.isPresent() ? ttlNanos : negativeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Optional<PublicUserProfile> value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Optional<PublicUserProfile> value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
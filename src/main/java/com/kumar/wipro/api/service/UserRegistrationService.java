@@ -0,0 +1,88 @@
+package com.kumar.wipro.api.service;
+
+import java.util.Collections;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import com.kumar.wipro.api.dto.SignUpRequest;
+import com.kumar.wipro.api.exception.DuplicateUserException;
+import com.kumar.wipro.api.model.RoleName;
+import com.kumar.wipro.api.model.User;
+import com.kumar.wipro.api.repository.UserRepository;
+
+/**
+ * Creates accounts with a single insert, relying on the unique constraints on users instead of
+ * checking for duplicates first. A violated constraint is reported as the same "taken" error the
+ * up-front checks used to give.
+ *
+ * Registration is deliberately not transactional: the password is hashed first, which may wait for
+ * the hashing bulkhead, and only then does {@code saveAndFlush} open its own short transaction, so
+ * no pooled connection is held across a BCrypt hash.
+ *
+ * Usernames and emails being registered right now are reserved in memory, so concurrent duplicate
+ * signups are turned away before they spend a password hash on an insert that cannot succeed.
+ */
+@Service
+public class UserRegistrationService {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRegistry roleRegistry;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private final ConcurrentHashMap<String, Boolean> inFlight = new ConcurrentHashMap<>();
+
+    public User register(SignUpRequest signUpRequest) {
+        // Keyed like the normalized columns, so requests that would collide on them coalesce here
+        String usernameKey = "u:" + User.normalize(signUpRequest.getUsername());
+        String emailKey = "e:" + User.normalize(signUpRequest.getEmail());
+
+        if (inFlight.putIfAbsent(usernameKey, Boolean.TRUE) != null) {
+            throw new DuplicateUserException(DuplicateUserException.USERNAME_TAKEN);
+        }
+        try {
+            if (inFlight.putIfAbsent(emailKey, Boolean.TRUE) != null) {
+                throw new DuplicateUserException(DuplicateUserException.EMAIL_IN_USE);
+            }
+            try {
+                return insert(signUpRequest);
+            } finally {
+                inFlight.remove(emailKey);
+            }
+        } finally {
+            inFlight.remove(usernameKey);
+        }
+    }
+
+    private User insert(SignUpRequest signUpRequest) {
+        User user = new User(signUpRequest.getName(), signUpRequest.getUsername(),
+                signUpRequest.getEmail(), passwordEncoder.encode(signUpRequest.getPassword()));
+        user.setRoles(Collections.singleton(roleRegistry.get(RoleName.ROLE_USER)));
+
+        try {
+            return userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException ex) {
+            throw toDuplicateUser(ex);
+        }
+    }
+
+    private static RuntimeException toDuplicateUser(DataIntegrityViolationException ex) {
+        String message = String.valueOf(ex.getMostSpecificCause().getMessage()).toLowerCase(Locale.ROOT);
+        if (message.contains(User.USERNAME_CONSTRAINT)) {
+            return new DuplicateUserException(DuplicateUserException.USERNAME_TAKEN);
+        }
+        if (message.contains(User.EMAIL_CONSTRAINT)) {
+            return new DuplicateUserException(DuplicateUserException.EMAIL_IN_USE);
+        }
+        return ex;
+    }
+}
@@ -0,0 +1,568 @@
+package com.kumar.wipro.api.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.kumar.wipro.api.dto.UserSearchResult;
+import com.kumar.wipro.api.util.CharTrie;
+import com.kumar.wipro.api.util.IntArrayList;
+import com.kumar.wipro.api.util.LongIntHashMap;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * In-memory type-ahead index over usernames and names.
+ *
+ * Every user is a document with a dense int id. Lower-cased usernames and the words of names are
+ * terms in two {@link CharTrie}s, which hand out prefix completions shortest first; each term's
+ * documents are kept in a primitive posting list. Each trie's terms are also listed under their
+ * trigrams (padded at both ends), for typo-tolerant matching of queries the prefixes miss; a
+ * misspelled query is matched against the vocabulary, which for names is far smaller than the
+ * number of users, and only the terms close enough are expanded into documents.
+ *
+ * Documents and terms are only ever appended, so every posting list stays sorted. A changed user
+ * is removed and appended again; removed documents are skipped at query time, and the index is
+ * rebuilt from the live documents once they are outnumbered by removed ones.
+ *
+ * Results rank an exact username first, then username prefixes, then name-word prefixes, then fuzzy
+ * matches by the trigram similarity of their closest term; ties go to the shorter username. Prefix
+ * matches are collected shortest completion first and each pass stops once it has enough. No query
+ * looks at more than {@code app.userSearchMaxCandidates} documents, nor scans more terms than that
+ * in a fuzzy pass, which bounds latency whatever the index size.
+ */
+@Component
+public class UserSearchIndex {
+
+    private static final int NONE = -1;
+
+    // Kept for removed users, so a bulk load reading rows from before the delete cannot bring them
+    // back; each costs one map entry until restart
+    private static final int REMOVED = -2;
+
+    private static final double EXACT_USERNAME = 4.0;
+
+    private static final double USERNAME_PREFIX = 3.0;
+
+    private static final double NAME_PREFIX = 2.0;
+
+    private static final double NO_MATCH = 0.0;
+
+    // Shorter queries have no trigram of their own, so they are answered by prefixes alone
+    private static final int MIN_FUZZY_QUERY_LENGTH = 3;
+
+    private static final char PAD = '\0';
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final int maxCandidates;
+
+    private final double minSimilarity;
+
+    private final Timer searchTimer;
+
+    private long[] userIds = new long[1024];
+
+    private String[] usernames = new String[1024];
+
+    private String[] names = new String[1024];
+
+    private final BitSet removed = new BitSet();
+
+    private int docCount;
+
+    private int removedCount;
+
+    private LongIntHashMap docsByUserId = new LongIntHashMap(1024);
+
+    private Terms usernameTerms = new Terms();
+
+    private Terms nameTerms = new Terms();
+
+    public UserSearchIndex(@Value("${app.userSearchMaxCandidates:2048}") int maxCandidates,
+            @Value("${app.userSearchMinSimilarity:0.3}") double minSimilarity,
+            MeterRegistry meterRegistry) {
+        this.maxCandidates = maxCandidates;
+        this.minSimilarity = minSimilarity;
+        this.searchTimer = Timer.builder("users.search")
+                .description("Time to answer a user search from the in-memory index")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("users.search.index.size", this, UserSearchIndex::size)
+                .description("Users in the search index")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Indexes the user, replacing what was indexed for it before.
+     */
+    public void put(long userId, String username, String name) {
+        lock.writeLock().lock();
+        try {
+            int doc = docsByUserId.get(userId, NONE);
+            if (doc >= 0) {
+                if (usernames[doc].equals(username) && names[doc].equals(name)) {
+                    return;
+                }
+                removeDoc(doc);
+            }
+            addDoc(userId, username, name);
+            compactIfMostlyRemoved();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indexes the user unless it is indexed already or was removed, for a bulk load racing with live
+     * updates that are newer than the rows it reads.
+     */
+    public void putIfAbsent(long userId, String username, String name) {
+        lock.writeLock().lock();
+        try {
+            if (docsByUserId.get(userId, NONE) == NONE) {
+                addDoc(userId, username, name);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long userId) {
+        lock.writeLock().lock();
+        try {
+            int doc = docsByUserId.get(userId, NONE);
+            if (doc >= 0) {
+                removeDoc(doc);
+                compactIfMostlyRemoved();
+            } else {
+                docsByUserId.put(userId, REMOVED);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docCount - removedCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<UserSearchResult> search(String query, int limit) {
+        long started = System.nanoTime();
+        String normalized = normalizeQuery(query);
+        if (normalized.isEmpty() || limit < 1) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Search search = new Search(normalized, limit);
+            prefixMatches(search, usernameTerms);
+            if (search.found < limit) {
+                prefixMatches(search, nameTerms);
+            }
+            if (normalized.length() >= MIN_FUZZY_QUERY_LENGTH) {
+                long[] grams = queryGrams(normalized);
+                if (search.found < limit) {
+                    fuzzyMatches(search, nameTerms, grams);
+                }
+                if (search.found < limit) {
+                    fuzzyMatches(search, usernameTerms, grams);
+                }
+            }
+            return search.results();
+        } finally {
+            lock.readLock().unlock();
+            searchTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    static String normalizeQuery(String query) {
+        if (query == null) {
+            return "";
+        }
+        return query.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private void prefixMatches(Search search, Terms terms) {
+        String query = search.query;
+        int space = query.indexOf(' ');
+        String firstWord = space < 0 ? query : query.substring(0, space);
+        terms.trie.forEachWithPrefix(firstWord, search.budget * 4, term -> {
+            IntArrayList docs = terms.postings[term];
+            // Once full, a completion as short as the last one still gets its first document in, so
+            // a shorter username can take the place of one found before it
+            for (int i = 0; i < docs.size() && (search.wantsMore() || i == 0 && search.budget > 0); i++) {
+                int doc = docs.get(i);
+                if (removed.get(doc) || search.seen.contains(doc)) {
+                    continue;
+                }
+                search.budget--;
+                double score = prefixScore(doc, query);
+                // Documents matching only the first word stay open to the other passes
+                if (score > NO_MATCH) {
+                    search.seen.add(doc);
+                    search.offer(doc, score);
+                }
+            }
+            return search.wantsMore();
+        });
+    }
+
+    private double prefixScore(int doc, String query) {
+        String username = usernames[doc];
+        if (username.regionMatches(true, 0, query, 0, query.length())) {
+            return username.length() == query.length() ? EXACT_USERNAME : USERNAME_PREFIX;
+        }
+        String name = names[doc];
+        for (int start = 0; start >= 0 && start < name.length(); start = nextWord(name, start)) {
+            if (name.regionMatches(true, start, query, 0, query.length())) {
+                return NAME_PREFIX;
+            }
+        }
+        return NO_MATCH;
+    }
+
+    /**
+     * Documents with a term sharing enough trigrams with the query. A term whose similarity reaches
+     * {@code minSimilarity} shares at least {@code required} of the query's grams, so it is in at
+     * least one of the {@code grams - required + 1} shortest posting lists. Those lists are merged
+     * in term order and the rest are probed with galloping searches, which gives every candidate's
+     * exact count of shared grams and so its similarity, without looking at its characters.
+     */
+    private void fuzzyMatches(Search search, Terms terms, long[] grams) {
+        int required = Math.max(1, (int) Math.ceil(minSimilarity * grams.length));
+        IntArrayList[] lists = new IntArrayList[grams.length];
+        for (int i = 0; i < grams.length; i++) {
+            IntArrayList termIds = terms.trigramPostings.get(grams[i]);
+            lists[i] = termIds == null ? new IntArrayList(1) : termIds;
+        }
+        Arrays.sort(lists, Comparator.comparingInt(IntArrayList::size));
+        int merged = grams.length - required + 1;
+        int[] cursors = new int[grams.length];
+
+        // Terms count against their own limit, so a scan that rejects everything still ends early
+        for (int scanned = 0; search.budget > 0 && scanned < maxCandidates; scanned++) {
+            int term = Integer.MAX_VALUE;
+            for (int list = 0; list < merged; list++) {
+                if (cursors[list] < lists[list].size()) {
+                    term = Math.min(term, lists[list].get(cursors[list]));
+                }
+            }
+            if (term == Integer.MAX_VALUE) {
+                return;
+            }
+            int shared = 0;
+            for (int list = 0; list < merged; list++) {
+                if (cursors[list] < lists[list].size() && lists[list].get(cursors[list]) == term) {
+                    cursors[list]++;
+                    shared++;
+                }
+            }
+            for (int list = merged; list < grams.length && shared + grams.length - list >= required; list++) {
+                cursors[list] = lists[list].lowerBound(cursors[list], term);
+                if (cursors[list] < lists[list].size() && lists[list].get(cursors[list]) == term) {
+                    shared++;
+                }
+            }
+            double similarity = jaccard(shared, terms.gramCounts[term], grams.length);
+            if (similarity < minSimilarity) {
+                continue;
+            }
+            IntArrayList docs = terms.postings[term];
+            for (int i = 0; i < docs.size() && search.budget > 0; i++) {
+                int doc = docs.get(i);
+                if (removed.get(doc) || !search.seen.add(doc)) {
+                    continue;
+                }
+                search.budget--;
+                search.offer(doc, similarity);
+            }
+        }
+    }
+
+    private void addDoc(long userId, String username, String name) {
+        if (docCount == userIds.length) {
+            int capacity = userIds.length * 2;
+            userIds = Arrays.copyOf(userIds, capacity);
+            usernames = Arrays.copyOf(usernames, capacity);
+            names = Arrays.copyOf(names, capacity);
+        }
+        int doc = docCount++;
+        userIds[doc] = userId;
+        usernames[doc] = username;
+        names[doc] = name == null ? "" : name;
+        docsByUserId.put(userId, doc);
+
+        usernameTerms.add(username.toLowerCase(Locale.ROOT), doc);
+        for (String word : normalizeQuery(names[doc]).split(" ")) {
+            if (!word.isEmpty()) {
+                nameTerms.add(word, doc);
+            }
+        }
+    }
+
+    private void removeDoc(int doc) {
+        removed.set(doc);
+        removedCount++;
+        docsByUserId.put(userIds[doc], REMOVED);
+    }
+
+    private void compactIfMostlyRemoved() {
+        if (removedCount < 1024 || removedCount < docCount - removedCount) {
+            return;
+        }
+        long[] liveIds = userIds;
+        String[] liveUsernames = usernames;
+        String[] liveNames = names;
+        int count = docCount;
+        BitSet dead = (BitSet) removed.clone();
+
+        userIds = new long[Math.max(1024, Integer.highestOneBit(Math.max(1, count - removedCount)) * 2)];
+        usernames = new String[userIds.length];
+        names = new String[userIds.length];
+        removed.clear();
+        docCount = 0;
+        removedCount = 0;
+        // Kept as is: live users get their new doc below and removed users keep their tombstone
+        usernameTerms = new Terms();
+        nameTerms = new Terms();
+        for (int doc = 0; doc < count; doc++) {
+            if (!dead.get(doc)) {
+                addDoc(liveIds[doc], liveUsernames[doc], liveNames[doc]);
+            }
+        }
+    }
+
+    private static long[] queryGrams(String query) {
+        long[] grams = new long[query.length()];
+        int count = 0;
+        for (String word : query.split(" ")) {
+            for (int i = 0; i < word.length(); i++) {
+                grams[count++] = gram(word, i);
+            }
+        }
+        grams = Arrays.copyOf(grams, count);
+        Arrays.sort(grams);
+        int distinct = 0;
+        for (int i = 0; i < grams.length; i++) {
+            if (distinct == 0 || grams[distinct - 1] != grams[i]) {
+                grams[distinct++] = grams[i];
+            }
+        }
+        return Arrays.copyOf(grams, distinct);
+    }
+
+    private static double jaccard(int shared, int fieldGrams, int queryGrams) {
+        shared = Math.min(shared, queryGrams);
+        int union = queryGrams + fieldGrams - shared;
+        return union == 0 ? 0.0 : (double) shared / union;
+    }
+
+    /**
+     * The {@code i}-th trigram of a lower-case {@code word}, padded with one marker at each end, so
+     * that "ann" yields "^an", "ann" and "nn$".
+     */
+    private static long gram(String word, int i) {
+        return ((long) padded(word, i) << 32) | ((long) padded(word, i + 1) << 16) | padded(word, i + 2);
+    }
+
+    private static char padded(String word, int position) {
+        if (position == 0 || position > word.length()) {
+            return PAD;
+        }
+        return word.charAt(position - 1);
+    }
+
+    private static int nextWord(String text, int from) {
+        int space = text.indexOf(' ', from);
+        while (space >= 0 && space + 1 < text.length() && text.charAt(space + 1) == ' ') {
+            space++;
+        }
+        return space < 0 ? -1 : space + 1;
+    }
+
+    /**
+     * A trie of terms with, per term id, the documents containing the term and the number of its
+     * distinct trigrams, and per trigram the ids of the terms containing it.
+     */
+    private static final class Terms {
+
+        private final CharTrie trie = new CharTrie(1024);
+
+        private IntArrayList[] postings = new IntArrayList[1024];
+
+        private int[] gramCounts = new int[1024];
+
+        private final Map<Long, IntArrayList> trigramPostings = new HashMap<>();
+
+        void add(String term, int doc) {
+            int id = trie.add(term);
+            if (id == postings.length) {
+                postings = Arrays.copyOf(postings, id * 2);
+                gramCounts = Arrays.copyOf(gramCounts, id * 2);
+            }
+            if (postings[id] == null) {
+                postings[id] = new IntArrayList(1);
+                for (int i = 0; i < term.length(); i++) {
+                    if (trigramPostings.computeIfAbsent(gram(term, i), gram -> new IntArrayList(1)).addIfNotLast(id)) {
+                        gramCounts[id]++;
+                    }
+                }
+            }
+            postings[id].addIfNotLast(doc);
+        }
+    }
+
+    /**
+     * State of one query: the documents already looked at, what is left of the candidate budget,
+     * and the best {@code limit} matches so far, kept sorted in primitive arrays.
+     */
+    private final class Search {
+
+        private final String query;
+
+        private final int limit;
+
+        private final DocSet seen = new DocSet();
+
+        private final int[] topDocs;
+
+        private final double[] topScores;
+
+        private int budget = maxCandidates;
+
+        private int found;
+
+        Search(String query, int limit) {
+            this.query = query;
+            this.limit = limit;
+            this.topDocs = new int[limit];
+            this.topScores = new double[limit];
+        }
+
+        boolean wantsMore() {
+            return budget > 0 && found < limit;
+        }
+
+        void offer(int doc, double score) {
+            int count = Math.min(found, limit);
+            found++;
+            int position = count;
+            while (position > 0 && ranksBefore(doc, score, topDocs[position - 1], topScores[position - 1])) {
+                position--;
+            }
+            if (position == limit) {
+                return;
+            }
+            int moved = Math.min(count, limit - 1) - position;
+            System.arraycopy(topDocs, position, topDocs, position + 1, moved);
+            System.arraycopy(topScores, position, topScores, position + 1, moved);
+            topDocs[position] = doc;
+            topScores[position] = score;
+        }
+
+        private boolean ranksBefore(int doc, double score, int other, double otherScore) {
+            if (score != otherScore) {
+                return score > otherScore;
+            }
+            int length = usernames[doc].length();
+            int otherLength = usernames[other].length();
+            if (length != otherLength) {
+                return length < otherLength;
+            }
+            return userIds[doc] < userIds[other];
+        }
+
+        List<UserSearchResult> results() {
+            int count = Math.min(found, limit);
+            List<UserSearchResult> results = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int doc = topDocs[i];
+                results.add(new UserSearchResult(userIds[doc], usernames[doc], names[doc]));
+            }
+            return results;
+        }
+    }
+
+    /**
+     * Open-addressing set of document ids for one query. Starts small, as most queries look at few
+     * documents, and never grows past the candidate budget.
+     */
+    private static final class DocSet {
+
+        private int[] slots = emptySlots(64);
+
+        private int size;
+
+        boolean contains(int doc) {
+            int mask = slots.length - 1;
+            for (int slot = mix(doc) & mask; slots[slot] != NONE; slot = (slot + 1) & mask) {
+                if (slots[slot] == doc) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Adds the document and returns true, or returns false if it was already in the set.
+         */
+        boolean add(int doc) {
+            int mask = slots.length - 1;
+            int slot = mix(doc) & mask;
+            for (; slots[slot] != NONE; slot = (slot + 1) & mask) {
+                if (slots[slot] == doc) {
+                    return false;
+                }
+            }
+            slots[slot] = doc;
+            if (++size * 2 > slots.length) {
+                grow();
+            }
+            return true;
+        }
+
+        private void grow() {
+            int[] old = slots;
+            slots = emptySlots(old.length * 2);
+            int mask = slots.length - 1;
+            for (int doc : old) {
+                if (doc != NONE) {
+                    int slot = mix(doc) & mask;
+                    while (slots[slot] != NONE) {
+                        slot = (slot + 1) & mask;
+                    }
+                    slots[slot] = doc;
+                }
+            }
+        }
+
+        private static int[] emptySlots(int capacity) {
+            int[] slots = new int[capacity];
+            Arrays.fill(slots, NONE);
+            return slots;
+        }
+
+        private static int mix(int doc) {
+            return doc * 0x9E3779B9;
+        }
+    }
+}
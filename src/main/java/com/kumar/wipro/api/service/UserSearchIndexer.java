@@ -0,0 +1,60 @@
+package com.kumar.wipro.api.service;
+
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.kumar.wipro.api.dto.UserProfile;
+import com.kumar.wipro.api.model.UserChangedEvent;
+import com.kumar.wipro.api.repository.UserRepository;
+
+/**
+ * Fills the {@link UserSearchIndex} from the users table once the application is up, and keeps it
+ * current as users are written.
+ */
+@Component
+public class UserSearchIndexer {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserSearchIndexer.class);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserSearchIndex userSearchIndex;
+
+    @Value("${app.userSearchFetchSize:1000}")
+    private int fetchSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void build() {
+        long started = System.nanoTime();
+        try (Stream<UserProfile> profiles = userRepository.streamProfiles(fetchSize)) {
+            // Users written while this runs are indexed by onUserChanged with their newer state
+            profiles.forEach(profile ->
+                    userSearchIndex.putIfAbsent(profile.getId(), profile.getUsername(), profile.getName()));
+        }
+        logger.info("Indexed {} users for search in {} ms", userSearchIndex.size(),
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        // Only the token version bump names no username, and it never touches searchable columns
+        if (event.userId() == null || event.username() == null) {
+            return;
+        }
+        userRepository.findProfileById(event.userId()).ifPresentOrElse(
+                profile -> userSearchIndex.put(profile.getId(), profile.getUsername(), profile.getName()),
+                () -> userSearchIndex.remove(event.userId()));
+    }
+}
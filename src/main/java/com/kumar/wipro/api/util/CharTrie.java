@@ -0,0 +1,206 @@
+package com.kumar.wipro.api.util;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+/**
+ * Prefix tree over strings that maps each distinct term to a dense term id.
+ *
+ * Nodes live in parallel primitive arrays (label, first child, next sibling, term id, length of the
+ * shortest term below) rather than as objects, so millions of terms cost a few bytes per node and
+ * no per-node headers. Knowing the shortest term below every node lets a prefix walk head straight
+ * for the shortest completions instead of visiting every shorter node first. Terms can be added but
+ * not removed. Not thread-safe; callers guard it.
+ */
+public class CharTrie {
+
+    private static final int NONE = -1;
+
+    private char[] labels;
+
+    private int[] firstChild;
+
+    private int[] nextSibling;
+
+    private int[] termIds;
+
+    private int[] shortest;
+
+    private int nodeCount = 1;
+
+    private int termCount;
+
+    public CharTrie(int expectedNodes) {
+        int capacity = Math.max(expectedNodes, 16);
+        labels = new char[capacity];
+        firstChild = new int[capacity];
+        nextSibling = new int[capacity];
+        termIds = new int[capacity];
+        shortest = new int[capacity];
+        firstChild[0] = NONE;
+        nextSibling[0] = NONE;
+        termIds[0] = NONE;
+        shortest[0] = Integer.MAX_VALUE;
+    }
+
+    /**
+     * Adds the term if it is new and returns its id either way. Ids are handed out from 0 in the
+     * order terms are first added.
+     */
+    public int add(CharSequence term) {
+        int length = term.length();
+        int node = 0;
+        shortest[0] = Math.min(shortest[0], length);
+        for (int i = 0; i < length; i++) {
+            char c = term.charAt(i);
+            int child = child(node, c);
+            if (child == NONE) {
+                child = newNode(c);
+                nextSibling[child] = firstChild[node];
+                firstChild[node] = child;
+            }
+            node = child;
+            shortest[node] = Math.min(shortest[node], length);
+        }
+        if (termIds[node] == NONE) {
+            termIds[node] = termCount++;
+        }
+        return termIds[node];
+    }
+
+    /**
+     * Id of the term, or -1 if it was never added.
+     */
+    public int termId(CharSequence term) {
+        int node = find(term);
+        return node == NONE ? NONE : termIds[node];
+    }
+
+    /**
+     * Visits the ids of the terms starting with {@code prefix}, shortest terms first, until the
+     * visitor returns false or {@code maxNodes} nodes have been walked. Once the visitor returns
+     * false, the remaining terms of the same length are still visited, so a caller can rank ties
+     * among them. Returns the number of terms visited.
+     */
+    public int forEachWithPrefix(CharSequence prefix, int maxNodes, IntPredicate visitor) {
+        int start = find(prefix);
+        if (start == NONE) {
+            return 0;
+        }
+        // Best-first on the shortest term below each node; a child's shortest term is never shorter
+        // than its parent's, so terms come out in order of length
+        long[] heap = new long[16];
+        int size = 0;
+        heap[size++] = entry(start);
+        int visited = 0;
+        int walked = 0;
+        int stopAfterLength = Integer.MAX_VALUE;
+        while (size > 0 && walked < maxNodes) {
+            int node = (int) heap[0];
+            heap[0] = heap[--size];
+            siftDown(heap, size);
+            if (shortest[node] > stopAfterLength) {
+                break;
+            }
+            walked++;
+            // A term's node has no shorter term below it, so it comes up exactly at its length
+            if (termIds[node] != NONE) {
+                visited++;
+                if (!visitor.test(termIds[node])) {
+                    stopAfterLength = shortest[node];
+                }
+            }
+            for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+                if (size == heap.length) {
+                    heap = Arrays.copyOf(heap, size * 2);
+                }
+                heap[size] = entry(child);
+                siftUp(heap, size++);
+            }
+        }
+        return visited;
+    }
+
+    public int termCount() {
+        return termCount;
+    }
+
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    private long entry(int node) {
+        return ((long) shortest[node] << 32) | node;
+    }
+
+    private static void siftUp(long[] heap, int index) {
+        long value = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (heap[parent] <= value) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = value;
+    }
+
+    private static void siftDown(long[] heap, int size) {
+        if (size == 0) {
+            return;
+        }
+        long value = heap[0];
+        int index = 0;
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (heap[child] >= value) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = value;
+    }
+
+    private int find(CharSequence term) {
+        int node = 0;
+        for (int i = 0; i < term.length() && node != NONE; i++) {
+            node = child(node, term.charAt(i));
+        }
+        return node;
+    }
+
+    private int child(int node, char c) {
+        for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+            if (labels[child] == c) {
+                return child;
+            }
+        }
+        return NONE;
+    }
+
+    private int newNode(char c) {
+        if (nodeCount == labels.length) {
+            int capacity = labels.length + (labels.length >> 1);
+            labels = Arrays.copyOf(labels, capacity);
+            firstChild = Arrays.copyOf(firstChild, capacity);
+            nextSibling = Arrays.copyOf(nextSibling, capacity);
+            termIds = Arrays.copyOf(termIds, capacity);
+            shortest = Arrays.copyOf(shortest, capacity);
+        }
+        int node = nodeCount++;
+        labels[node] = c;
+        firstChild[node] = NONE;
+        nextSibling[node] = NONE;
+        termIds[node] = NONE;
+        shortest[node] = Integer.MAX_VALUE;
+        return node;
+    }
+}
@@ -0,0 +1,86 @@
+package com.kumar.wipro.api.util;
+
+import java.util.Arrays;
+
+/**
+ * Growable list of primitive ints, for posting lists that would otherwise box every entry. Not
+ * thread-safe; callers guard it.
+ */
+public class IntArrayList {
+
+    private int[] values;
+
+    private int size;
+
+    public IntArrayList() {
+        this(4);
+    }
+
+    public IntArrayList(int initialCapacity) {
+        this.values = new int[Math.max(initialCapacity, 1)];
+    }
+
+    public void add(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size++] = value;
+    }
+
+    /**
+     * Appends the value unless it equals the last one, which keeps an ascending list free of
+     * duplicates when a value is added several times in a row. Returns whether it was appended.
+     */
+    public boolean addIfNotLast(int value) {
+        if (size > 0 && values[size - 1] == value) {
+            return false;
+        }
+        add(value);
+        return true;
+    }
+
+    public int get(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        return values[index];
+    }
+
+    /**
+     * For an ascending list: the first index at or after {@code from} whose value is at least
+     * {@code value}, or {@link #size()} if there is none. Gallops ahead before a binary search, so
+     * walking a long list with increasing targets touches only a few entries per step.
+     */
+    public int lowerBound(int from, int value) {
+        int low = from;
+        int step = 1;
+        int high = from;
+        while (high < size && values[high] < value) {
+            low = high + 1;
+            high += step;
+            step <<= 1;
+        }
+        high = Math.min(high, size);
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (values[middle] < value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+}
@@ -0,0 +1,194 @@
+package com.kumar.wipro.api.util;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Open-addressing hash map from primitive long keys to primitive int values.
+ *
+ * Reads are optimistic and lock-free in the common case and never allocate or box; writes take an
+ * exclusive lock. Intended for small, read-mostly lookup tables on the request path.
+ */
+public class LongIntHashMap {
+
+    private static final long EMPTY = 0L;
+
+    private final StampedLock lock = new StampedLock();
+
+    private long[] keys;
+
+    private int[] values;
+
+    private int size;
+
+    private boolean hasZeroKey;
+
+    private int zeroValue;
+
+    public LongIntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(expectedSize, 8) * 2 - 1) << 1;
+        this.keys = new long[capacity];
+        this.values = new int[capacity];
+    }
+
+    public int get(long key, int defaultValue) {
+        long stamp = lock.tryOptimisticRead();
+        int value = find(key, defaultValue);
+        if (lock.validate(stamp)) {
+            return value;
+        }
+
+        stamp = lock.readLock();
+        try {
+            return find(key, defaultValue);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public void put(long key, int value) {
+        long stamp = lock.writeLock();
+        try {
+            putUnlocked(key, value);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Stores the value unless the key already maps to something at least as large, for monotonic
+     * counters that concurrent loaders may write out of order.
+     */
+    public void putIfGreater(long key, int value) {
+        long stamp = lock.writeLock();
+        try {
+            if (find(key, Integer.MIN_VALUE) < value) {
+                putUnlocked(key, value);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Copy of the keys present right now, for walking the map without holding its lock.
+     */
+    public long[] keys() {
+        long stamp = lock.readLock();
+        try {
+            long[] snapshot = new long[size];
+            int count = 0;
+            if (hasZeroKey) {
+                snapshot[count++] = EMPTY;
+            }
+            for (long key : keys) {
+                if (key != EMPTY) {
+                    snapshot[count++] = key;
+                }
+            }
+            return snapshot;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public void clear() {
+        long stamp = lock.writeLock();
+        try {
+            Arrays.fill(keys, EMPTY);
+            size = 0;
+            hasZeroKey = false;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private void putUnlocked(long key, int value) {
+        if (key == EMPTY) {
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            zeroValue = value;
+            return;
+        }
+        if ((size + 1) * 4L > keys.length * 3L) {
+            resize(keys.length * 2);
+        }
+        insert(keys, values, key, value);
+    }
+
+    private int find(long key, int defaultValue) {
+        if (key == EMPTY) {
+            return hasZeroKey ? zeroValue : defaultValue;
+        }
+        // Local copies so a concurrent resize cannot hand us mismatched arrays mid-probe
+        long[] currentKeys = keys;
+        int[] currentValues = values;
+        if (currentValues.length != currentKeys.length) {
+            return defaultValue;
+        }
+        int mask = currentKeys.length - 1;
+        int index = slot(key, mask);
+        for (int probes = 0; probes <= mask; probes++) {
+            long candidate = currentKeys[index];
+            if (candidate == key) {
+                return currentValues[index];
+            }
+            if (candidate == EMPTY) {
+                return defaultValue;
+            }
+            index = (index + 1) & mask;
+        }
+        return defaultValue;
+    }
+
+    private void insert(long[] targetKeys, int[] targetValues, long key, int value) {
+        int mask = targetKeys.length - 1;
+        int index = slot(key, mask);
+        while (true) {
+            long candidate = targetKeys[index];
+            if (candidate == key) {
+                targetValues[index] = value;
+                return;
+            }
+            if (candidate == EMPTY) {
+                targetKeys[index] = key;
+                targetValues[index] = value;
+                if (targetKeys == keys) {
+                    size++;
+                }
+                return;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        long[] newKeys = new long[capacity];
+        int[] newValues = new int[capacity];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                insert(newKeys, newValues, oldKeys[i], oldValues[i]);
+            }
+        }
+        keys = newKeys;
+        values = newValues;
+    }
+
+    private static int slot(long key, int mask) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,92 @@
+package com.kumar.wipro.api.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent loads of the same key: the first caller runs the loader on its own thread and
+ * everyone who asks for the key while it runs gets that result (or exception) instead of loading it
+ * again. Nothing is kept once the load finishes, so this is not a cache.
+ *
+ * Each flight has a deadline set by the caller that started it. Callers that join a flight give up
+ * with a {@link FlightTimeoutException} once it passes; the loading caller itself is not interrupted.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, Flight<V>> flights = new ConcurrentHashMap<>();
+
+    private final LongAdder shared = new LongAdder();
+
+    public V load(K key, long timeoutMillis, Supplier<V> loader) {
+        Flight<V> flight = new Flight<>(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis));
+        Flight<V> inFlight = flights.putIfAbsent(key, flight);
+        if (inFlight != null) {
+            return inFlight.await(key, shared);
+        }
+
+        try {
+            V value = loader.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error ex) {
+            flight.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            flights.remove(key, flight);
+        }
+    }
+
+    /**
+     * Loads that were answered by another caller's flight instead of running themselves.
+     */
+    public long sharedCount() {
+        return shared.sum();
+    }
+
+    public int inFlight() {
+        return flights.size();
+    }
+
+    private static final class Flight<V> extends CompletableFuture<V> {
+
+        private final long deadlineNanos;
+
+        Flight(long deadlineNanos) {
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        V await(Object key, LongAdder shared) {
+            try {
+                V value = get(Math.max(deadlineNanos - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+                shared.increment();
+                return value;
+            } catch (ExecutionException ex) {
+                shared.increment();
+                if (ex.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                if (ex.getCause() instanceof Error cause) {
+                    throw cause;
+                }
+                throw new IllegalStateException(ex.getCause());
+            } catch (TimeoutException ex) {
+                throw new FlightTimeoutException("Timed out waiting for the load of " + key);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new FlightTimeoutException("Interrupted waiting for the load of " + key);
+            }
+        }
+    }
+
+    public static class FlightTimeoutException extends RuntimeException {
+
+        public FlightTimeoutException(String message) {
+            super(message);
+        }
+    }
+}
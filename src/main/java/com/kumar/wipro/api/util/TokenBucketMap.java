@@ -0,0 +1,74 @@
+package com.kumar.wipro.api.util;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Token buckets kept exactly, one per key, for a bounded number of keys.
+ *
+ * Buckets are stored as their theoretical arrival time, like in {@link TokenBucketSketch}, but never
+ * share a slot, so one key's use can never limit another. Memory is bounded by {@code maxKeys}: past
+ * that, buckets that are rarely touched are dropped first, and a dropped bucket starts over full. A
+ * flood of new keys can therefore make the map forget a limited key, but never limit an innocent one.
+ */
+public class TokenBucketMap {
+
+    private final Cache<String, AtomicLong> arrivals;
+
+    private final long intervalMillis;
+
+    private final long toleranceMillis;
+
+    /**
+     * @param maxKeys buckets kept at most
+     * @param burst tokens a full bucket holds
+     * @param intervalMillis time to regain one token
+     * @param idleMillis buckets untouched this long are dropped; at least the largest debt a caller creates
+     */
+    public TokenBucketMap(long maxKeys, int burst, long intervalMillis, long idleMillis) {
+        if (maxKeys <= 0 || burst <= 0 || intervalMillis <= 0 || idleMillis <= 0) {
+            throw new IllegalArgumentException("maxKeys, burst, interval and idle time must be positive");
+        }
+        this.arrivals = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofMillis(idleMillis))
+                .build();
+        this.intervalMillis = intervalMillis;
+        this.toleranceMillis = intervalMillis * (burst - 1);
+    }
+
+    /**
+     * Whether the key has a token left, without taking it.
+     */
+    public boolean isAllowed(String key, long nowMillis) {
+        return debtMillis(key, nowMillis) <= toleranceMillis;
+    }
+
+    /**
+     * Takes {@code costMillis} worth of tokens even if that overdraws the bucket, which locks the key
+     * out until the overdraft has refilled.
+     */
+    public void charge(String key, long nowMillis, long costMillis) {
+        arrivals.get(key, k -> new AtomicLong())
+                .accumulateAndGet(nowMillis, (current, now) -> Math.max(current, now) + costMillis);
+    }
+
+    /**
+     * How long until the key's bucket is full again, i.e. how much it has used.
+     */
+    public long debtMillis(String key, long nowMillis) {
+        AtomicLong arrival = arrivals.getIfPresent(key);
+        return arrival == null ? 0 : Math.max(arrival.get() - nowMillis, 0);
+    }
+
+    public long getIntervalMillis() {
+        return intervalMillis;
+    }
+
+    public long getToleranceMillis() {
+        return toleranceMillis;
+    }
+}
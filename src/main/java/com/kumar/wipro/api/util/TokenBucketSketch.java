@@ -0,0 +1,146 @@
+package com.kumar.wipro.api.util;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Token buckets for an unbounded set of keys in a fixed amount of memory.
+ *
+ * Each bucket is kept as its theoretical arrival time (GCRA): the instant at which it will be full
+ * again, so refilling needs no timer and an update is a single CAS. Keys are hashed into a count-min
+ * sketch of {@code depth} rows of {@code width} slots; a key's bucket is the least-full of its slots
+ * and updates only raise slots that are behind. Colliding keys can make a bucket look emptier than it
+ * is, never fuller, so the approximation only errs towards limiting.
+ *
+ * A key's bucket spans one slot per row, so no single compare-and-set can take a token atomically.
+ * Taking one is instead serialized per key on a lock stripe picked by the key's hash, which keeps a
+ * parallel burst from one key within its limit; raises stay max-updates, so colliding keys on other
+ * stripes can only make the check stricter.
+ */
+public class TokenBucketSketch {
+
+    private final AtomicLongArray slots;
+
+    private final int mask;
+
+    private final int depth;
+
+    private final long intervalMillis;
+
+    private final long toleranceMillis;
+
+    private final long seed = ThreadLocalRandom.current().nextLong();
+
+    private static final int LOCK_STRIPES = 256;
+
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    /**
+     * @param width slots per row, rounded up to a power of two
+     * @param depth rows, each with its own hash
+     * @param burst tokens a full bucket holds
+     * @param intervalMillis time to regain one token
+     */
+    public TokenBucketSketch(int width, int depth, int burst, long intervalMillis) {
+        if (width <= 0 || depth <= 0 || burst <= 0 || intervalMillis <= 0) {
+            throw new IllegalArgumentException("width, depth, burst and interval must be positive");
+        }
+        int rowSize = Integer.highestOneBit(Math.max(width - 1, 1)) << 1;
+        this.slots = new AtomicLongArray(rowSize * depth);
+        this.mask = rowSize - 1;
+        this.depth = depth;
+        this.intervalMillis = intervalMillis;
+        this.toleranceMillis = intervalMillis * (burst - 1);
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * Takes a token if the key has one left.
+     */
+    public boolean tryAcquire(CharSequence key, long nowMillis) {
+        long hash = hash(key);
+        synchronized (locks[(int) (hash >>> 32) & (LOCK_STRIPES - 1)]) {
+            long arrival = arrival(hash, nowMillis);
+            if (arrival - nowMillis > toleranceMillis) {
+                return false;
+            }
+            raise(hash, Math.max(arrival, nowMillis) + intervalMillis);
+            return true;
+        }
+    }
+
+    /**
+     * Whether the key has a token left, without taking it.
+     */
+    public boolean isAllowed(CharSequence key, long nowMillis) {
+        return arrival(hash(key), nowMillis) - nowMillis <= toleranceMillis;
+    }
+
+    /**
+     * Takes {@code costMillis} worth of tokens even if that overdraws the bucket, which locks the key
+     * out until the overdraft has refilled.
+     */
+    public void charge(CharSequence key, long nowMillis, long costMillis) {
+        long hash = hash(key);
+        raise(hash, Math.max(arrival(hash, nowMillis), nowMillis) + costMillis);
+    }
+
+    /**
+     * How long until the key's bucket is full again, i.e. how much it has used.
+     */
+    public long debtMillis(CharSequence key, long nowMillis) {
+        return Math.max(arrival(hash(key), nowMillis) - nowMillis, 0);
+    }
+
+    /**
+     * How long until the key has a token again, 0 if it has one now.
+     */
+    public long retryAfterMillis(CharSequence key, long nowMillis) {
+        return Math.max(debtMillis(key, nowMillis) - toleranceMillis, 0);
+    }
+
+    public long getIntervalMillis() {
+        return intervalMillis;
+    }
+
+    public long getToleranceMillis() {
+        return toleranceMillis;
+    }
+
+    private long arrival(long hash, long nowMillis) {
+        long arrival = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            arrival = Math.min(arrival, slots.get(index(hash, row)));
+        }
+        return arrival;
+    }
+
+    private void raise(long hash, long arrival) {
+        for (int row = 0; row < depth; row++) {
+            slots.accumulateAndGet(index(hash, row), arrival, Math::max);
+        }
+    }
+
+    private int index(long hash, int row) {
+        return row * (mask + 1) + (int) (mix(hash + row * 0x9e3779b97f4a7c15L) & mask);
+    }
+
+    // FNV-1a from a per-instance random basis, so colliding keys cannot be picked in advance
+    private long hash(CharSequence key) {
+        long hash = seed;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
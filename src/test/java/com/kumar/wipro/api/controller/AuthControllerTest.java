@@ -1,5 +1,7 @@
 package com.kumar.wipro.api.controller;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -23,6 +25,7 @@ import com.kumar.wipro.api.model.RoleName;
 import com.kumar.wipro.api.model.User;
 import com.kumar.wipro.api.repository.RoleRepository;
 import com.kumar.wipro.api.repository.UserRepository;
+import com.kumar.wipro.api.service.UserAvailabilityService;
 
 import java.util.Collections;
 
@@ -47,17 +50,15 @@ public class AuthControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private UserAvailabilityService userAvailabilityService;
+
     @BeforeEach
     void setUp() {
-        // Clean up and set up test data
+        // Clean up test data; roles are reference data seeded by DataInitializer
         userRepository.deleteAll();
-        roleRepository.deleteAll();
-
-        // Create roles
-        Role userRole = new Role(RoleName.ROLE_USER);
-        Role adminRole = new Role(RoleName.ROLE_ADMIN);
-        roleRepository.save(userRole);
-        roleRepository.save(adminRole);
+        assertThat(roleRepository.findByName(RoleName.ROLE_USER)).isPresent();
+        assertThat(roleRepository.findByName(RoleName.ROLE_ADMIN)).isPresent();
     }
 
     @Test
@@ -99,6 +100,63 @@ public class AuthControllerTest {
                 .andExpect(jsonPath("$.message").value("Username is already taken!"));
     }
 
+    @Test
+    void testSignUp_DuplicateEmail() throws Exception {
+        User existingUser = new User("Existing User", "existing", "test@example.com", "password");
+        existingUser.setPassword(passwordEncoder.encode(existingUser.getPassword()));
+        userRepository.save(existingUser);
+
+        SignUpRequest signUpRequest = new SignUpRequest();
+        signUpRequest.setName("Test User");
+        signUpRequest.setUsername("testuser");
+        signUpRequest.setEmail("test@example.com"); // Same email
+        signUpRequest.setPassword("password123");
+
+        mockMvc.perform(post("/api/v1/auth/signup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(signUpRequest)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.message").value("Email Address already in use!"));
+    }
+
+    @Test
+    void testSignUp_UsernameTakenInOtherCase() throws Exception {
+        User existingUser = new User("Existing User", "TestUser", "existing@example.com", "password");
+        existingUser.setPassword(passwordEncoder.encode(existingUser.getPassword()));
+        userRepository.save(existingUser);
+
+        SignUpRequest signUpRequest = new SignUpRequest();
+        signUpRequest.setName("Test User");
+        signUpRequest.setUsername("testuser");
+        signUpRequest.setEmail("test@example.com");
+        signUpRequest.setPassword("password123");
+
+        mockMvc.perform(post("/api/v1/auth/signup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(signUpRequest)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Username is already taken!"));
+    }
+
+    @Test
+    void testSignIn_EmailIgnoresCase() throws Exception {
+        User user = new User("Test User", "testuser", "test@example.com", "password123");
+        user.setPassword(passwordEncoder.encode(user.getPassword()));
+        user.setRoles(Collections.singleton(roleRepository.findByName(RoleName.ROLE_USER).get()));
+        userRepository.save(user);
+
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setUsernameOrEmail("Test@Example.com");
+        loginRequest.setPassword("password123");
+
+        mockMvc.perform(post("/api/v1/auth/signin")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accessToken").exists());
+    }
+
     @Test
     void testSignIn_Success() throws Exception {
         // Create a user first
@@ -131,4 +189,36 @@ public class AuthControllerTest {
                 .content(objectMapper.writeValueAsString(loginRequest)))
                 .andExpect(status().isUnauthorized());
     }
+
+    @Test
+    void testAvailability_TakenAndFree() throws Exception {
+        User user = new User("Taken User", "TakenName", "taken@example.com",
+                passwordEncoder.encode("password123"));
+        userRepository.save(user);
+        // Users saved inside the test transaction never commit, so put them in the filters directly
+        userAvailabilityService.rebuild();
+
+        mockMvc.perform(get("/api/v1/auth/availability")
+                .param("username", "takenname")
+                .param("email", "Free@Example.com"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.usernameAvailable").value(false))
+                .andExpect(jsonPath("$.emailAvailable").value(true));
+
+        mockMvc.perform(get("/api/v1/auth/availability")
+                .param("email", "TAKEN@example.com"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.emailAvailable").value(false))
+                .andExpect(jsonPath("$.usernameAvailable").doesNotExist());
+    }
+
+    @Test
+    void testAvailability_RequiresUsernameOrEmail() throws Exception {
+        mockMvc.perform(get("/api/v1/auth/availability"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/v1/auth/availability")
+                .param("username", "  "))
+                .andExpect(status().isBadRequest());
+    }
 }
@@ -2,19 +2,36 @@ package com.kumar.wipro.api.controller;
 
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kumar.wipro.api.dto.UserBatchRequest;
 import com.kumar.wipro.api.model.Role;
 import com.kumar.wipro.api.model.RoleName;
 import com.kumar.wipro.api.model.User;
@@ -42,6 +59,9 @@ public class UserControllerTest {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     private User testUser;
     private UserPrincipal userPrincipal;
 
@@ -49,11 +69,9 @@ public class UserControllerTest {
     void setUp() {
         // Clean up and set up test data
         userRepository.deleteAll();
-        roleRepository.deleteAll();
 
-        // Create roles
-        Role userRole = new Role(RoleName.ROLE_USER);
-        roleRepository.save(userRole);
+        // Roles are reference data seeded by DataInitializer
+        Role userRole = roleRepository.findByName(RoleName.ROLE_USER).orElseThrow();
 
         // Create test user
         testUser = new User("Test User", "testuser", "test@example.com", "password123");
@@ -71,7 +89,9 @@ public class UserControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.username").value("testuser"))
                 .andExpect(jsonPath("$.email").value("test@example.com"))
-                .andExpect(jsonPath("$.name").value("Test User"));
+                .andExpect(jsonPath("$.name").value("Test User"))
+                .andExpect(jsonPath("$.roles[0]").value("ROLE_USER"))
+                .andExpect(jsonPath("$.password").doesNotExist());
     }
 
     @Test
@@ -86,8 +106,18 @@ public class UserControllerTest {
                 .with(user(userPrincipal)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.username").value("testuser"))
-                .andExpect(jsonPath("$.email").value("test@example.com"))
-                .andExpect(jsonPath("$.name").value("Test User"));
+                .andExpect(jsonPath("$.email").doesNotExist())
+                .andExpect(jsonPath("$.name").value("Test User"))
+                .andExpect(jsonPath("$.password").doesNotExist())
+                .andExpect(jsonPath("$.roles").doesNotExist());
+    }
+
+    @Test
+    void testGetUserProfile_IgnoresCase() throws Exception {
+        mockMvc.perform(get("/api/v1/users/{username}", "TestUser")
+                .with(user(userPrincipal)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value("testuser"));
     }
 
     @Test
@@ -96,4 +126,198 @@ public class UserControllerTest {
                 .with(user(userPrincipal)))
                 .andExpect(status().isNotFound()); // 404 for not found user
     }
+
+    @Test
+    void testListUsers_PagesByCursor() throws Exception {
+        UserPrincipal admin = saveAdmin();
+        saveUsers("pageuser", 3);
+
+        mockMvc.perform(get("/api/v1/users").param("size", "2")
+                .with(user(admin)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users.length()").value(2))
+                .andExpect(jsonPath("$.users[0].username").value("testuser"))
+                .andExpect(jsonPath("$.users[1].username").value("listadmin"))
+                .andExpect(jsonPath("$.users[0].password").doesNotExist())
+                .andExpect(jsonPath("$.nextCursor").value(admin.getId()));
+
+        mockMvc.perform(get("/api/v1/users").param("size", "2").param("after", String.valueOf(admin.getId()))
+                .with(user(admin)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users[0].username").value("pageuser0"))
+                .andExpect(jsonPath("$.users[1].username").value("pageuser1"))
+                .andExpect(jsonPath("$.nextCursor").isNumber());
+
+        mockMvc.perform(get("/api/v1/users").param("size", "10").param("after", String.valueOf(admin.getId()))
+                .with(user(admin)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users.length()").value(3))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void testListUsers_FiltersByRoleAndPrefix() throws Exception {
+        UserPrincipal admin = saveAdmin();
+        saveUsers("Prefix_", 2);
+        saveUsers("prefixa", 1);
+
+        mockMvc.perform(get("/api/v1/users").param("role", "admin")
+                .with(user(admin)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users.length()").value(1))
+                .andExpect(jsonPath("$.users[0].username").value("listadmin"));
+
+        // Case-insensitive, and "_" is matched literally rather than as a wildcard
+        mockMvc.perform(get("/api/v1/users").param("prefix", "PREFIX_")
+                .with(user(admin)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users.length()").value(2))
+                .andExpect(jsonPath("$.users[0].username").value("Prefix_0"));
+
+        mockMvc.perform(get("/api/v1/users").param("prefix", "prefix").param("role", "ROLE_USER")
+                .with(user(admin)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users.length()").value(3));
+    }
+
+    @Test
+    void testListUsers_CapsPageSize() throws Exception {
+        UserPrincipal admin = saveAdmin();
+        saveUsers("capuser", 100);
+
+        mockMvc.perform(get("/api/v1/users").param("size", "100000")
+                .with(user(admin)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users.length()").value(100))
+                .andExpect(jsonPath("$.nextCursor").isNumber());
+    }
+
+    @Test
+    void testListUsers_RejectsBadParameters() throws Exception {
+        UserPrincipal admin = saveAdmin();
+
+        mockMvc.perform(get("/api/v1/users").param("role", "superuser")
+                .with(user(admin)))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/users").param("size", "0")
+                .with(user(admin)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testListUsers_AdminOnly() throws Exception {
+        mockMvc.perform(get("/api/v1/users")
+                .with(user(userPrincipal)))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/v1/users"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void testExportUsers_OneUserPerLine() throws Exception {
+        UserPrincipal admin = saveAdmin();
+        User noRoles = userRepository.save(new User("No Roles", "noroles", "noroles@example.com", "hash"));
+
+        MvcResult result = mockMvc.perform(get("/api/v1/users/export")
+                .with(user(admin)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn();
+
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        assertThat(lines).hasSize(3);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertThat(first.get("username").asText()).isEqualTo("testuser");
+        assertThat(first.get("roles")).hasSize(1);
+        assertThat(first.has("password")).isFalse();
+        JsonNode second = objectMapper.readTree(lines[1]);
+        assertThat(second.get("id").asLong()).isEqualTo(admin.getId());
+        assertThat(second.get("roles")).extracting(JsonNode::asText)
+                .containsExactlyInAnyOrder("ROLE_USER", "ROLE_ADMIN");
+        JsonNode third = objectMapper.readTree(lines[2]);
+        assertThat(third.get("id").asLong()).isEqualTo(noRoles.getId());
+        assertThat(third.get("roles")).isEmpty();
+    }
+
+    @Test
+    void testExportUsers_Gzip() throws Exception {
+        UserPrincipal admin = saveAdmin();
+        saveUsers("exported", 50);
+
+        MvcResult result = mockMvc.perform(get("/api/v1/users/export").param("gzip", "true")
+                .with(user(admin)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/gzip"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"users.ndjson.gz\""))
+                .andReturn();
+
+        try (GZIPInputStream in = new GZIPInputStream(
+                new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            String body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            assertThat(body).endsWith("\n");
+            assertThat(body.split("\n")).hasSize(52);
+        }
+    }
+
+    @Test
+    void testExportUsers_AdminOnly() throws Exception {
+        mockMvc.perform(get("/api/v1/users/export")
+                .with(user(userPrincipal)))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void testGetUserProfiles_Batch() throws Exception {
+        User other = userRepository.save(new User("Batch User", "batchuser", "batch@example.com", "hash"));
+
+        mockMvc.perform(post("/api/v1/users/batch")
+                .with(user(userPrincipal))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"usernames\":[\"batchuser\",\"batchnobody\",\"testuser\"],"
+                        + "\"ids\":[" + other.getId() + ",-1]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.usernames.batchuser.name").value("Batch User"))
+                .andExpect(jsonPath("$.usernames.testuser.email").doesNotExist())
+                .andExpect(jsonPath("$.usernames.testuser.password").doesNotExist())
+                .andExpect(jsonPath("$.ids['" + other.getId() + "'].username").value("batchuser"))
+                .andExpect(jsonPath("$.missingUsernames[0]").value("batchnobody"))
+                .andExpect(jsonPath("$.missingIds[0]").value(-1));
+    }
+
+    @Test
+    void testGetUserProfiles_BatchLimits() throws Exception {
+        StringBuilder ids = new StringBuilder("{\"ids\":[0");
+        for (int i = 1; i <= UserBatchRequest.MAX_KEYS; i++) {
+            ids.append(',').append(i);
+        }
+        ids.append("]}");
+
+        mockMvc.perform(post("/api/v1/users/batch")
+                .with(user(userPrincipal))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(ids.toString()))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/v1/users/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"usernames\":[\"testuser\"]}"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private UserPrincipal saveAdmin() {
+        User admin = new User("List Admin", "listadmin", "listadmin@example.com", "hash");
+        admin.setRoles(Set.of(roleRepository.findByName(RoleName.ROLE_USER).orElseThrow(),
+                roleRepository.findByName(RoleName.ROLE_ADMIN).orElseThrow()));
+        return UserPrincipal.create(userRepository.save(admin));
+    }
+
+    private void saveUsers(String usernamePrefix, int count) {
+        Role userRole = roleRepository.findByName(RoleName.ROLE_USER).orElseThrow();
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            User user = new User("Listed User", usernamePrefix + i, usernamePrefix + i + "@example.com", "hash");
+            user.setRoles(Collections.singleton(userRole));
+            users.add(user);
+        }
+        userRepository.saveAll(users);
+    }
 }
@@ -1,5 +1,7 @@
 package com.kumar.wipro.api.integration;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -11,6 +13,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
@@ -19,9 +22,10 @@ import org.springframework.transaction.annotation.Transactional;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.kumar.wipro.api.dto.LoginRequest;
+import com.kumar.wipro.api.dto.RefreshTokenRequest;
 import com.kumar.wipro.api.dto.SignUpRequest;
-import com.kumar.wipro.api.model.Role;
 import com.kumar.wipro.api.model.RoleName;
+import com.kumar.wipro.api.model.User;
 import com.kumar.wipro.api.repository.RoleRepository;
 import com.kumar.wipro.api.repository.UserRepository;
 
@@ -45,15 +49,10 @@ public class AuthenticationIntegrationTest {
 
     @BeforeEach
     void setUp() {
-        // Clean up and set up test data
+        // Clean up test data; roles are reference data seeded by DataInitializer
         userRepository.deleteAll();
-        roleRepository.deleteAll();
-
-        // Create roles required for testing
-        Role userRole = new Role(RoleName.ROLE_USER);
-        Role adminRole = new Role(RoleName.ROLE_ADMIN);
-        roleRepository.save(userRole);
-        roleRepository.save(adminRole);
+        assertThat(roleRepository.findByName(RoleName.ROLE_USER)).isPresent();
+        assertThat(roleRepository.findByName(RoleName.ROLE_ADMIN)).isPresent();
     }
 
     @Test
@@ -107,6 +106,195 @@ public class AuthenticationIntegrationTest {
                 .andExpect(jsonPath("$.username").value("integrationuser"));
     }
 
+    @Test
+    void testSignOutRevokesToken() throws Exception {
+        SignUpRequest signUpRequest = new SignUpRequest();
+        signUpRequest.setName("Sign Out User");
+        signUpRequest.setUsername("signoutuser");
+        signUpRequest.setEmail("signout@example.com");
+        signUpRequest.setPassword("password123");
+
+        mockMvc.perform(post("/api/v1/auth/signup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(signUpRequest)))
+                .andExpect(status().isCreated());
+
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setUsernameOrEmail("signoutuser");
+        loginRequest.setPassword("password123");
+
+        MvcResult loginResult = mockMvc.perform(post("/api/v1/auth/signin")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isOk())
+                .andReturn();
+        String jwtToken = objectMapper.readTree(loginResult.getResponse().getContentAsString())
+                .get("accessToken").asText();
+
+        mockMvc.perform(get("/api/v1/users/me")
+                .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/v1/auth/signout")
+                .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true));
+
+        mockMvc.perform(get("/api/v1/users/me")
+                .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void testSignOutEverywhereInvalidatesAllTokens() throws Exception {
+        SignUpRequest signUpRequest = new SignUpRequest();
+        signUpRequest.setName("Many Devices User");
+        signUpRequest.setUsername("deviceuser");
+        signUpRequest.setEmail("devices@example.com");
+        signUpRequest.setPassword("password123");
+
+        mockMvc.perform(post("/api/v1/auth/signup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(signUpRequest)))
+                .andExpect(status().isCreated());
+
+        String firstToken = signIn("deviceuser", "password123");
+        String secondToken = signIn("deviceuser", "password123");
+
+        mockMvc.perform(post("/api/v1/auth/signout-all")
+                .header("Authorization", "Bearer " + firstToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true));
+
+        mockMvc.perform(get("/api/v1/users/me")
+                .header("Authorization", "Bearer " + firstToken))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/v1/users/me")
+                .header("Authorization", "Bearer " + secondToken))
+                .andExpect(status().isUnauthorized());
+
+        mockMvc.perform(get("/api/v1/users/me")
+                .header("Authorization", "Bearer " + signIn("deviceuser", "password123")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testRoleChecksOnProtectedEndpoints() throws Exception {
+        SignUpRequest signUpRequest = new SignUpRequest();
+        signUpRequest.setName("Plain User");
+        signUpRequest.setUsername("plainuser");
+        signUpRequest.setEmail("plain@example.com");
+        signUpRequest.setPassword("password123");
+
+        mockMvc.perform(post("/api/v1/auth/signup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(signUpRequest)))
+                .andExpect(status().isCreated());
+
+        String token = signIn("plainuser", "password123");
+
+        mockMvc.perform(delete("/api/v1/auth/tokens/{tokenId}", "some-token-id")
+                .header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/v1/users/me")
+                .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testRefreshTokenRotationAndReuseDetection() throws Exception {
+        SignUpRequest signUpRequest = new SignUpRequest();
+        signUpRequest.setName("Refresh User");
+        signUpRequest.setUsername("refreshuser");
+        signUpRequest.setEmail("refresh@example.com");
+        signUpRequest.setPassword("password123");
+
+        mockMvc.perform(post("/api/v1/auth/signup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(signUpRequest)))
+                .andExpect(status().isCreated());
+
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setUsernameOrEmail("refreshuser");
+        loginRequest.setPassword("password123");
+
+        MvcResult loginResult = mockMvc.perform(post("/api/v1/auth/signin")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.refreshToken").exists())
+                .andExpect(jsonPath("$.expiresIn").value(86400))
+                .andReturn();
+        String firstRefreshToken = objectMapper.readTree(loginResult.getResponse().getContentAsString())
+                .get("refreshToken").asText();
+
+        MvcResult refreshResult = mockMvc.perform(post("/api/v1/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(refreshBody(firstRefreshToken)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accessToken").exists())
+                .andReturn();
+        JsonNode refreshed = objectMapper.readTree(refreshResult.getResponse().getContentAsString());
+        String secondRefreshToken = refreshed.get("refreshToken").asText();
+
+        mockMvc.perform(get("/api/v1/users/me")
+                .header("Authorization", "Bearer " + refreshed.get("accessToken").asText()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value("refreshuser"));
+
+        // Replaying the spent token is rejected and takes the rest of the chain down with it
+        mockMvc.perform(post("/api/v1/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(refreshBody(firstRefreshToken)))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/api/v1/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(refreshBody(secondRefreshToken)))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void testLoginReencodesLegacyPasswordHash() throws Exception {
+        // Stored before algorithm ids were recorded with each hash
+        User user = new User("Legacy User", "legacyuser", "legacy@example.com",
+                new BCryptPasswordEncoder(5).encode("password123"));
+        user = userRepository.save(user);
+
+        signIn("legacyuser", "password123");
+
+        String rehashed = userRepository.findById(user.getId()).orElseThrow().getPassword();
+        assertThat(rehashed).startsWith("{bcrypt}$2a$04$");
+
+        // The new hash still works, and is now current
+        signIn("legacyuser", "password123");
+        assertThat(userRepository.findById(user.getId()).orElseThrow().getPassword()).isEqualTo(rehashed);
+    }
+
+    @Test
+    void testRepeatedFailuresLockOutUsername() throws Exception {
+        userRepository.save(new User("Locked User", "lockeduser", "locked@example.com",
+                new BCryptPasswordEncoder(4).encode("password123")));
+        LoginRequest wrongPassword = new LoginRequest();
+        wrongPassword.setUsernameOrEmail("lockeduser");
+        wrongPassword.setPassword("wrongpassword");
+
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(post("/api/v1/auth/signin")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(wrongPassword)))
+                    .andExpect(status().isUnauthorized());
+        }
+
+        // Even the right password is turned away until the lockout ends
+        LoginRequest rightPassword = new LoginRequest();
+        rightPassword.setUsernameOrEmail("lockeduser");
+        rightPassword.setPassword("password123");
+        mockMvc.perform(post("/api/v1/auth/signin")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(rightPassword)))
+                .andExpect(status().isTooManyRequests());
+    }
+
     @Test
     void testAuthenticationWithInvalidCredentials() throws Exception {
         LoginRequest loginRequest = new LoginRequest();
@@ -118,4 +306,23 @@ public class AuthenticationIntegrationTest {
                 .content(objectMapper.writeValueAsString(loginRequest)))
                 .andExpect(status().isUnauthorized());
     }
+
+    private String signIn(String usernameOrEmail, String password) throws Exception {
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setUsernameOrEmail(usernameOrEmail);
+        loginRequest.setPassword(password);
+
+        MvcResult loginResult = mockMvc.perform(post("/api/v1/auth/signin")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readTree(loginResult.getResponse().getContentAsString()).get("accessToken").asText();
+    }
+
+    private String refreshBody(String refreshToken) throws Exception {
+        RefreshTokenRequest request = new RefreshTokenRequest();
+        request.setRefreshToken(refreshToken);
+        return objectMapper.writeValueAsString(request);
+    }
 }
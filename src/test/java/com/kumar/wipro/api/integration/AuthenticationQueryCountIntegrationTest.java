@@ -0,0 +1,157 @@
+package com.kumar.wipro.api.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Set;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kumar.wipro.api.dto.LoginRequest;
+import com.kumar.wipro.api.model.RoleName;
+import com.kumar.wipro.api.model.User;
+import com.kumar.wipro.api.repository.RefreshTokenRepository;
+import com.kumar.wipro.api.repository.RoleRepository;
+import com.kumar.wipro.api.repository.UserRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Pins down how many SQL statements the authentication paths run. Not transactional on purpose: each
+ * request has to use its own persistence context, as it does in production.
+ */
+@SpringBootTest(properties = {
+        // Own database, so ids are never reused behind the back of this context's in-memory caches
+        "spring.datasource.url=jdbc:h2:mem:statisticsdb",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "app.jwtStatelessPrincipal=false"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class AuthenticationQueryCountIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        User admin = new User("Query Count", "querycount", "querycount@example.com",
+                passwordEncoder.encode("password123"));
+        admin.setRoles(Set.of(roleRepository.findByName(RoleName.ROLE_USER).orElseThrow(),
+                roleRepository.findByName(RoleName.ROLE_ADMIN).orElseThrow()));
+        userRepository.save(admin);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        refreshTokenRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testSignInRunsOneQueryAndOneInsert() throws Exception {
+        statistics.clear();
+
+        signIn("querycount@example.com");
+
+        // The user with its roles, then the refresh token
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(3);
+        assertThat(statistics.getCollectionFetchCount()).isZero();
+    }
+
+    @Test
+    void testAuthenticatedRequestRunsOneQuery() throws Exception {
+        String token = signIn("querycount");
+        // The first request also reads the user's token version into its cache
+        revokeSomeToken(token);
+
+        statistics.clear();
+        revokeSomeToken(token);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getCollectionFetchCount()).isZero();
+    }
+
+    @Test
+    void testCurrentUserIsReadWithOneProjectionQuery() throws Exception {
+        String token = signIn("querycount");
+        revokeSomeToken(token);
+
+        statistics.clear();
+        mockMvc.perform(get("/api/v1/users/me")
+                .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value("querycount"))
+                .andExpect(jsonPath("$.password").doesNotExist());
+
+        // The filter's user load, then the profile columns; no entity or role collection for the response
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getCollectionFetchCount()).isZero();
+        // Without open-session-in-view the connection is back in the pool before the body is written
+        assertThat(applicationContext.getBeansOfType(OpenEntityManagerInViewInterceptor.class)).isEmpty();
+    }
+
+    private void revokeSomeToken(String token) throws Exception {
+        mockMvc.perform(delete("/api/v1/auth/tokens/{tokenId}", "some-token-id")
+                .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+    }
+
+    private String signIn(String usernameOrEmail) throws Exception {
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setUsernameOrEmail(usernameOrEmail);
+        loginRequest.setPassword("password123");
+
+        MvcResult loginResult = mockMvc.perform(post("/api/v1/auth/signin")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readTree(loginResult.getResponse().getContentAsString()).get("accessToken").asText();
+    }
+}
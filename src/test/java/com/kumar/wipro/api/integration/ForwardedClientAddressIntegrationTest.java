@@ -0,0 +1,61 @@
+package com.kumar.wipro.api.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kumar.wipro.api.dto.LoginRequest;
+
+/**
+ * Runs on a real port so the request goes through Tomcat's handling of X-Forwarded-For, as it does
+ * behind the nginx proxy, where every request arrives from the proxy's address.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:forwardeddb",
+        "app.loginClientBurst=2"
+})
+@ActiveProfiles("test")
+public class ForwardedClientAddressIntegrationTest {
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void testClientsBehindTheProxyAreThrottledSeparately() throws Exception {
+        assertThat(signIn("nobody1", "203.0.113.1")).isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(signIn("nobody2", "203.0.113.1")).isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(signIn("nobody3", "203.0.113.1")).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+
+        assertThat(signIn("nobody4", "203.0.113.2")).isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    private HttpStatus signIn(String username, String forwardedFor) throws Exception {
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setUsernameOrEmail(username);
+        loginRequest.setPassword("password123");
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/auth/signin"))
+                .header("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                .header("X-Forwarded-For", forwardedFor)
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(loginRequest)))
+                .build();
+        return HttpStatus.valueOf(httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode());
+    }
+}
@@ -0,0 +1,76 @@
+package com.kumar.wipro.api.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.kumar.wipro.api.model.RoleName;
+import com.kumar.wipro.api.service.RoleRegistry;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class RoleRegistryStartupIntegrationTest {
+
+    @Autowired
+    private LifecycleProbe probe;
+
+    @Test
+    void testRolesAreLoadedBeforeLifecycleBeansStart() {
+        // The web server is started by a lifecycle bean too, so it cannot take a signup before this
+        assertThat(probe.rolesLoadedAtStart).isTrue();
+    }
+
+    @TestConfiguration
+    static class ProbeConfiguration {
+
+        @Bean
+        LifecycleProbe lifecycleProbe(RoleRegistry roleRegistry) {
+            return new LifecycleProbe(roleRegistry);
+        }
+    }
+
+    static class LifecycleProbe implements SmartLifecycle {
+
+        private final RoleRegistry roleRegistry;
+
+        private volatile boolean running;
+
+        private volatile boolean rolesLoadedAtStart;
+
+        LifecycleProbe(RoleRegistry roleRegistry) {
+            this.roleRegistry = roleRegistry;
+        }
+
+        @Override
+        public void start() {
+            try {
+                rolesLoadedAtStart = roleRegistry.get(RoleName.ROLE_USER) != null;
+            } catch (IllegalStateException ex) {
+                rolesLoadedAtStart = false;
+            }
+            running = true;
+        }
+
+        @Override
+        public void stop() {
+            running = false;
+        }
+
+        @Override
+        public boolean isRunning() {
+            return running;
+        }
+
+        @Override
+        public int getPhase() {
+            // Before the web server's phase
+            return Integer.MIN_VALUE;
+        }
+    }
+}
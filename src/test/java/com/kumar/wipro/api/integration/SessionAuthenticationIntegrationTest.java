@@ -0,0 +1,101 @@
+package com.kumar.wipro.api.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kumar.wipro.api.dto.LoginRequest;
+import com.kumar.wipro.api.dto.SignUpRequest;
+import com.kumar.wipro.api.model.RoleName;
+import com.kumar.wipro.api.repository.RoleRepository;
+import com.kumar.wipro.api.repository.UserRepository;
+import com.kumar.wipro.api.security.SessionTokenService;
+
+@SpringBootTest(properties = "app.authMode=session")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+public class SessionAuthenticationIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        // Clean up test data; roles are reference data seeded by DataInitializer
+        userRepository.deleteAll();
+        assertThat(roleRepository.findByName(RoleName.ROLE_USER)).isPresent();
+        assertThat(roleRepository.findByName(RoleName.ROLE_ADMIN)).isPresent();
+    }
+
+    @Test
+    void testSessionTokenFlow() throws Exception {
+        SignUpRequest signUpRequest = new SignUpRequest();
+        signUpRequest.setName("Session User");
+        signUpRequest.setUsername("sessionuser");
+        signUpRequest.setEmail("session@example.com");
+        signUpRequest.setPassword("password123");
+
+        mockMvc.perform(post("/api/v1/auth/signup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(signUpRequest)))
+                .andExpect(status().isCreated());
+
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setUsernameOrEmail("sessionuser");
+        loginRequest.setPassword("password123");
+
+        MvcResult loginResult = mockMvc.perform(post("/api/v1/auth/signin")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tokenType").value("Bearer"))
+                .andReturn();
+        String sessionToken = objectMapper.readTree(loginResult.getResponse().getContentAsString())
+                .get("accessToken").asText();
+        assertThat(sessionToken).startsWith(SessionTokenService.TOKEN_PREFIX);
+
+        mockMvc.perform(get("/api/v1/users/me")
+                .header("Authorization", "Bearer " + sessionToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value("sessionuser"));
+
+        mockMvc.perform(post("/api/v1/auth/signout")
+                .header("Authorization", "Bearer " + sessionToken))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/users/me")
+                .header("Authorization", "Bearer " + sessionToken))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void testUnknownSessionTokenIsRejected() throws Exception {
+        mockMvc.perform(get("/api/v1/users/me")
+                .header("Authorization", "Bearer " + SessionTokenService.TOKEN_PREFIX + "unknown"))
+                .andExpect(status().isUnauthorized());
+    }
+}
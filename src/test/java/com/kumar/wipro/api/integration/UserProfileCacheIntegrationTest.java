@@ -0,0 +1,141 @@
+package com.kumar.wipro.api.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.kumar.wipro.api.model.User;
+import com.kumar.wipro.api.repository.UserRepository;
+import com.kumar.wipro.api.security.UserPrincipal;
+import com.kumar.wipro.api.service.TokenVersionService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Profile lookups against committed data, so cache invalidation after commit is exercised for real.
+ */
+@SpringBootTest(properties = {
+        // Own database, so ids are never reused behind the back of this context's in-memory caches
+        "spring.datasource.url=jdbc:h2:mem:statisticsdb",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "app.jwtStatelessPrincipal=false"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class UserProfileCacheIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TokenVersionService tokenVersionService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(new User("Cached Profile", "cachedprofile", "cached@example.com", "hash"));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testRepeatLookupsSkipTheDatabase() throws Exception {
+        getProfile("cachedprofile", "Cached Profile");
+
+        statistics.clear();
+        getProfile("cachedprofile", "Cached Profile");
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void testCommittedWritesInvalidateProfile() throws Exception {
+        getProfile("cachedprofile", "Cached Profile");
+
+        user.setName("Renamed Profile");
+        user = userRepository.save(user);
+        getProfile("cachedprofile", "Renamed Profile");
+
+        // A bulk update only knows the id
+        tokenVersionService.invalidateTokens(user.getId());
+        statistics.clear();
+        getProfile("cachedprofile", "Renamed Profile");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testUnknownUsernameIsCachedUntilRegistered() throws Exception {
+        mockMvc.perform(get("/api/v1/users/{username}", "latecomer")).andExpect(status().isNotFound());
+
+        statistics.clear();
+        mockMvc.perform(get("/api/v1/users/{username}", "latecomer")).andExpect(status().isNotFound());
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        userRepository.save(new User("Late Comer", "latecomer", "late@example.com", "hash"));
+        getProfile("latecomer", "Late Comer");
+    }
+
+    @Test
+    void testBatchLookupUsesOneQueryPerKeyKind() throws Exception {
+        User second = userRepository.save(new User("Second Profile", "secondprofile", "second@example.com", "hash"));
+        User third = userRepository.save(new User("Third Profile", "thirdprofile", "third@example.com", "hash"));
+        String batch = "{\"usernames\":[\"cachedprofile\",\"secondprofile\",\"nobodyhere\"],"
+                + "\"ids\":[" + third.getId() + "]}";
+
+        statistics.clear();
+        postBatch(batch);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+
+        // Usernames now come from the cache; the id was not looked up by username, so it is read again
+        statistics.clear();
+        postBatch(batch);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        statistics.clear();
+        postBatch("{\"ids\":[" + user.getId() + "," + second.getId() + "]}");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    private void postBatch(String body) throws Exception {
+        mockMvc.perform(post("/api/v1/users/batch")
+                .with(user(UserPrincipal.create(user)))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.missingIds").isEmpty());
+    }
+
+    private void getProfile(String username, String expectedName) throws Exception {
+        mockMvc.perform(get("/api/v1/users/{username}", username))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value(expectedName));
+    }
+}
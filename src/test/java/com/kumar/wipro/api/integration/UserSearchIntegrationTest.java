@@ -0,0 +1,125 @@
+package com.kumar.wipro.api.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Set;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.kumar.wipro.api.model.RoleName;
+import com.kumar.wipro.api.model.User;
+import com.kumar.wipro.api.repository.RoleRepository;
+import com.kumar.wipro.api.repository.UserRepository;
+import com.kumar.wipro.api.security.UserPrincipal;
+import com.kumar.wipro.api.service.UserSearchIndex;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * User search against committed writes, so the index is kept current the way it is in production.
+ */
+@SpringBootTest(properties = {
+        // Own database, so ids are never reused behind the back of this context's in-memory caches
+        "spring.datasource.url=jdbc:h2:mem:statisticsdb",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "app.jwtStatelessPrincipal=false"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class UserSearchIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserSearchIndex userSearchIndex;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private UserPrincipal searcher;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User("Search Er", "searcher", "searcher@example.com", "hash");
+        user.setRoles(Set.of(roleRepository.findByName(RoleName.ROLE_USER).orElseThrow()));
+        searcher = UserPrincipal.create(userRepository.save(user));
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testSearchFollowsCommittedWrites() throws Exception {
+        User user = userRepository.save(new User("Margaret Hamilton", "mhamilton", "margaret@example.com", "hash"));
+
+        search("marg")
+                .andExpect(jsonPath("$[0].username").value("mhamilton"))
+                .andExpect(jsonPath("$[0].name").value("Margaret Hamilton"))
+                .andExpect(jsonPath("$[0].email").doesNotExist());
+        search("hamliton").andExpect(jsonPath("$[0].id").value(user.getId()));
+
+        user.setName("Margaret Heafield");
+        userRepository.save(user);
+        search("heaf").andExpect(jsonPath("$[0].username").value("mhamilton"));
+        // Still found through the username, but only with the new name
+        search("hamilton")
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].name").value("Margaret Heafield"));
+
+        userRepository.delete(user);
+        search("mhamilton").andExpect(jsonPath("$.length()").value(0));
+        assertThat(userSearchIndex.size()).isEqualTo(1);
+    }
+
+    @Test
+    void testSearchRunsNoQueries() throws Exception {
+        userRepository.save(new User("Grace Hopper", "ghopper", "grace@example.com", "hash"));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        search("grace").andExpect(jsonPath("$[0].username").value("ghopper"));
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void testSearchParameters() throws Exception {
+        mockMvc.perform(get("/api/v1/users/search").param("q", "x").param("limit", "0")
+                .with(user(searcher)))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/users/search").param("q", "x".repeat(101))
+                .with(user(searcher)))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/users/search").param("q", "searcher"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private ResultActions search(String query) throws Exception {
+        return mockMvc.perform(get("/api/v1/users/search").param("q", query)
+                .with(user(searcher)))
+                .andExpect(status().isOk());
+    }
+}
@@ -6,6 +6,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.test.context.ActiveProfiles;
 
 import com.kumar.wipro.api.model.Role;
@@ -25,6 +26,9 @@ public class UserRepositoryTest {
     @Autowired
     private RoleRepository roleRepository;
 
+    @Autowired
+    private TestEntityManager entityManager;
+
     private User testUser;
     private Role userRole;
 
@@ -40,6 +44,22 @@ public class UserRepositoryTest {
         testUser = userRepository.save(testUser);
     }
 
+    @Test
+    void testBackfillNormalizedColumns() {
+        // A row written before the lookup columns existed
+        entityManager.flush();
+        entityManager.getEntityManager()
+                .createNativeQuery("update users set username_normalized = null, email_normalized = null where id = ?")
+                .setParameter(1, testUser.getId())
+                .executeUpdate();
+
+        assertThat(userRepository.backfillNormalizedColumns()).isEqualTo(1);
+
+        assertThat(userRepository.findWithRolesByUsernameNormalized("testuser")).isPresent();
+        assertThat(userRepository.findWithRolesByEmailNormalized("test@example.com")).isPresent();
+        assertThat(userRepository.backfillNormalizedColumns()).isZero();
+    }
+
     @Test
     void testFindByEmail() {
         Optional<User> found = userRepository.findByEmail("test@example.com");
@@ -74,6 +94,16 @@ public class UserRepositoryTest {
         assertThat(found.get().getUsername()).isEqualTo("testuser");
     }
 
+    @Test
+    void testFindWithRolesByNormalizedIdentifiers() {
+        Optional<User> byUsername = userRepository.findWithRolesByUsernameNormalized(User.normalize("TestUser"));
+        Optional<User> byEmail = userRepository.findWithRolesByEmailNormalized(User.normalize("TEST@example.com"));
+
+        assertThat(byUsername).isPresent();
+        assertThat(byUsername.get().getRoles()).hasSize(1);
+        assertThat(byEmail.map(User::getId)).isEqualTo(byUsername.map(User::getId));
+    }
+
     @Test
     void testExistsByUsername() {
         Boolean exists = userRepository.existsByUsername("testuser");
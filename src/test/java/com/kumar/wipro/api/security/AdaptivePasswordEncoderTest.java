@@ -0,0 +1,71 @@
+package com.kumar.wipro.api.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+public class AdaptivePasswordEncoderTest {
+
+    private final AdaptivePasswordEncoder bcrypt =
+            new AdaptivePasswordEncoder(AdaptivePasswordEncoder.BCRYPT, 5, 1024, 1, 1);
+
+    private final AdaptivePasswordEncoder argon2 =
+            new AdaptivePasswordEncoder(AdaptivePasswordEncoder.ARGON2, 5, 1024, 1, 1);
+
+    @Test
+    void testEncodeRecordsAlgorithmAndCost() {
+        String hash = bcrypt.encode("password123");
+
+        assertThat(hash).startsWith("{bcrypt}$2a$05$");
+        assertThat(bcrypt.matches("password123", hash)).isTrue();
+        assertThat(bcrypt.matches("wrong", hash)).isFalse();
+        assertThat(bcrypt.upgradeEncoding(hash)).isFalse();
+    }
+
+    @Test
+    void testLegacyHashesMatchAndAreUpgraded() {
+        String legacy = new BCryptPasswordEncoder(5).encode("password123");
+
+        assertThat(bcrypt.matches("password123", legacy)).isTrue();
+        assertThat(bcrypt.upgradeEncoding(legacy)).isTrue();
+    }
+
+    @Test
+    void testHashesWithOtherCostAreReencodedEitherWay() {
+        AdaptivePasswordEncoder stronger = new AdaptivePasswordEncoder(AdaptivePasswordEncoder.BCRYPT, 6, 1024, 1, 1);
+        AdaptivePasswordEncoder weaker = new AdaptivePasswordEncoder(AdaptivePasswordEncoder.BCRYPT, 4, 1024, 1, 1);
+        String hash = bcrypt.encode("password123");
+
+        assertThat(stronger.upgradeEncoding(hash)).isTrue();
+        assertThat(weaker.upgradeEncoding(hash)).isTrue();
+        assertThat(weaker.matches("password123", hash)).isTrue();
+    }
+
+    @Test
+    void testArgon2EncodesNewHashesAndStillVerifiesBcrypt() {
+        String bcryptHash = bcrypt.encode("password123");
+        String argon2Hash = argon2.encode("password123");
+
+        assertThat(argon2Hash).startsWith("{argon2}$argon2id$");
+        assertThat(argon2.matches("password123", argon2Hash)).isTrue();
+        assertThat(argon2.matches("password123", bcryptHash)).isTrue();
+        assertThat(argon2.upgradeEncoding(argon2Hash)).isFalse();
+        assertThat(argon2.upgradeEncoding(bcryptHash)).isTrue();
+        assertThat(bcrypt.upgradeEncoding(argon2Hash)).isTrue();
+
+        AdaptivePasswordEncoder moreIterations =
+                new AdaptivePasswordEncoder(AdaptivePasswordEncoder.ARGON2, 5, 1024, 2, 1);
+        assertThat(moreIterations.upgradeEncoding(argon2Hash)).isTrue();
+    }
+
+    @Test
+    void testCalibrationScalesWorkFactorToTarget() {
+        assertThat(PasswordEncoderCalibrator.bcryptCost(250, 10, 60)).isEqualTo(12);
+        assertThat(PasswordEncoderCalibrator.bcryptCost(250, 10, 400)).isEqualTo(10);
+        assertThat(PasswordEncoderCalibrator.bcryptCost(1, 4, 0.5)).isEqualTo(5);
+
+        assertThat(PasswordEncoderCalibrator.argon2Iterations(250, 2, 40)).isEqualTo(6);
+        assertThat(PasswordEncoderCalibrator.argon2Iterations(250, 2, 400)).isEqualTo(2);
+    }
+}
@@ -0,0 +1,151 @@
+package com.kumar.wipro.api.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import javax.crypto.spec.SecretKeySpec;
+
+import org.junit.jupiter.api.Test;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.SecurityException;
+
+public class Hs512TokenVerifierTest {
+
+    private static final String SECRET =
+            "testSecretKeyForJWTWhichMustBeAtLeast512BitsLongForHS512AlgorithmToWorkProperly1234567890";
+
+    private static final String OTHER_SECRET =
+            "otherSecretKeyForJWTWhichMustBeAtLeast512BitsLongForHS512AlgorithmToWorkProperly1234567890";
+
+    private final SecretKeySpec key = key(SECRET);
+
+    private final JwtParser parser = Jwts.parserBuilder().setSigningKey(key).build();
+
+    private final Hs512TokenVerifier verifier = new Hs512TokenVerifier(key.getEncoded());
+
+    @Test
+    void testValidTokenMatchesJjwtClaims() {
+        String token = issuedToken(Date.from(new Date().toInstant().plusSeconds(900))).compact();
+
+        Hs512TokenVerifier.Result result = verifier.verify(token, System.currentTimeMillis());
+        Claims claims = parser.parseClaimsJws(token).getBody();
+
+        assertThat(result).isNotNull();
+        assertThat(result.getStatus()).isEqualTo(JwtVerificationResult.Status.VALID);
+        assertThat(result.getExpiresAt()).isEqualTo(claims.getExpiration().getTime());
+    }
+
+    @Test
+    void testAgreesWithJjwtOnIssuedAndTamperedTokens() {
+        Date future = Date.from(new Date().toInstant().plusSeconds(900));
+        Date past = Date.from(new Date().toInstant().minusSeconds(900));
+        String valid = issuedToken(future).compact();
+        String expired = issuedToken(past).compact();
+        String[] payloadParts = valid.split("\\.");
+
+        String[] tokens = {
+                valid,
+                expired,
+                issuedToken(future).claim("name", "Jo \"quoted\" \\ Doe é").compact(),
+                issuedToken(future).claim("profile", Map.of("a", List.of(1, 2))).compact(),
+                Jwts.builder().setSubject("42").setExpiration(future).signWith(key(OTHER_SECRET),
+                        SignatureAlgorithm.HS512).compact(),
+                Jwts.builder().setSubject("42").setExpiration(past).signWith(key(OTHER_SECRET),
+                        SignatureAlgorithm.HS512).compact(),
+                payloadParts[0] + "." + encode("{\"sub\":\"7\",\"exp\":" + (future.getTime() / 1000) + "}") + "."
+                        + payloadParts[2],
+                valid.substring(0, valid.length() - 2) + (valid.endsWith("A") ? "BB" : "AA"),
+        };
+
+        for (String token : tokens) {
+            Hs512TokenVerifier.Result result = verifier.verify(token, System.currentTimeMillis());
+            assertThat(result).as(token).isNotNull();
+            assertThat(result.getStatus()).as(token).isEqualTo(jjwtStatus(token));
+        }
+    }
+
+    @Test
+    void testLeavesOtherShapesToJjwt() {
+        Date future = Date.from(new Date().toInstant().plusSeconds(900));
+
+        assertThat(verifier.verify(issuedToken(future).setNotBefore(new Date()).compact(), 0)).isNull();
+        assertThat(verifier.verify(Jwts.builder().setSubject("johndoe").setExpiration(future)
+                .signWith(key, SignatureAlgorithm.HS512).compact(), 0)).isNull();
+        assertThat(verifier.verify(Jwts.builder().setSubject("42")
+                .signWith(key, SignatureAlgorithm.HS512).compact(), 0)).isNull();
+        assertThat(verifier.verify(issuedToken(future).setHeaderParam("kid", "k1").compact(), 0)).isNull();
+        assertThat(verifier.verify(issuedToken(future).compact().replace('.', '!'), 0)).isNull();
+        assertThat(verifier.verify("not-a-jwt", 0)).isNull();
+    }
+
+    @Test
+    void testVerificationDoesNotAllocate() {
+        String token = issuedToken(Date.from(new Date().toInstant().plusSeconds(900))).compact();
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 20000; i++) {
+            verifier.verify(token, now);
+        }
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long before = threads.getCurrentThreadAllocatedBytes();
+        boolean allValid = true;
+        for (int i = 0; i < 10000; i++) {
+            allValid &= verifier.verify(token, now).isValid();
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        assertThat(allValid).isTrue();
+        // Allows for the measurement itself, but not for a single object per verification
+        assertThat(allocated).isLessThan(10000);
+    }
+
+    private static JwtBuilder issuedToken(Date expiration) {
+        return Jwts.builder()
+                .setId(UUID.randomUUID().toString())
+                .setSubject("42")
+                .claim(JwtTokenProvider.CLAIM_USERNAME, "johndoe")
+                .claim(JwtTokenProvider.CLAIM_NAME, "John Doe")
+                .claim(JwtTokenProvider.CLAIM_ROLES, Arrays.asList("ROLE_USER", "ROLE_ADMIN"))
+                .claim(JwtTokenProvider.CLAIM_TOKEN_VERSION, 3)
+                .setIssuedAt(new Date())
+                .setExpiration(expiration)
+                .signWith(key(SECRET), SignatureAlgorithm.HS512);
+    }
+
+    private JwtVerificationResult.Status jjwtStatus(String token) {
+        try {
+            parser.parseClaimsJws(token);
+            return JwtVerificationResult.Status.VALID;
+        } catch (ExpiredJwtException ex) {
+            return JwtVerificationResult.Status.EXPIRED;
+        } catch (SecurityException ex) {
+            return JwtVerificationResult.Status.INVALID_SIGNATURE;
+        } catch (JwtException ex) {
+            return JwtVerificationResult.Status.MALFORMED;
+        }
+    }
+
+    private static String encode(String json) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static SecretKeySpec key(String secret) {
+        return new SecretKeySpec(Decoders.BASE64.decode(secret), SignatureAlgorithm.HS512.getJcaName());
+    }
+}
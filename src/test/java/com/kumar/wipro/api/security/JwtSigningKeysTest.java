@@ -0,0 +1,148 @@
+package com.kumar.wipro.api.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.kumar.wipro.api.model.Role;
+import com.kumar.wipro.api.model.RoleName;
+import com.kumar.wipro.api.model.User;
+import com.kumar.wipro.api.repository.JwtKeyRepository;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Date;
+import java.util.UUID;
+
+@SpringBootTest(properties = "app.jwtAlgorithm=ES256")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class JwtSigningKeysTest {
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private JwtSigningKeys signingKeys;
+
+    @Autowired
+    private JwtKeyRepository jwtKeyRepository;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Value("${app.jwtSecret}")
+    private String jwtSecret;
+
+    private Authentication authentication;
+
+    @BeforeEach
+    void setUp() {
+        User testUser = new User("Test User", "testuser", "test@example.com", "password123");
+        testUser.setId(1L);
+        testUser.setRoles(Collections.singleton(new Role(RoleName.ROLE_USER)));
+
+        UserPrincipal userPrincipal = UserPrincipal.create(testUser);
+        authentication = new UsernamePasswordAuthenticationToken(userPrincipal, null, userPrincipal.getAuthorities());
+    }
+
+    @Test
+    void testTokenIsSignedWithCurrentKeyId() {
+        String token = jwtTokenProvider.generateToken(authentication);
+        String header = new String(Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))),
+                StandardCharsets.UTF_8);
+
+        assertThat(header).contains("\"alg\":\"ES256\"");
+        assertThat(header).contains("\"kid\":\"" + signingKeys.current().kid() + "\"");
+        assertThat(jwtTokenProvider.verify(token).isValid()).isTrue();
+    }
+
+    @Test
+    void testRotatedKeyIsPublishedBeforeItSigns() {
+        long now = System.currentTimeMillis();
+        String oldKid = signingKeys.current().kid();
+        String token = jwtTokenProvider.generateToken(authentication);
+
+        signingKeys.rotate(now);
+        String newKid = signingKeys.publicJwks().get(signingKeys.publicJwks().size() - 1).get("kid").toString();
+
+        // Verifiers may hold a JWKS document from just before the rotation for its whole max-age
+        assertThat(newKid).isNotEqualTo(oldKid);
+        assertThat(signingKeys.current(now + JwtSigningKeys.JWKS_MAX_AGE_SECONDS * 1000).kid()).isEqualTo(oldKid);
+        assertThat(signingKeys.current(now + 600000).kid()).isEqualTo(newKid);
+        assertThat(jwtTokenProvider.verify(token).isValid()).isTrue();
+    }
+
+    @Test
+    void testInstancesShareSigningKeys() {
+        // Other test contexts share the database and may have recreated the schema since startup
+        signingKeys.refresh(System.currentTimeMillis());
+        JwtSigningKeys replica = new JwtSigningKeys();
+        ReflectionTestUtils.setField(replica, "jwtKeyRepository", jwtKeyRepository);
+        ReflectionTestUtils.setField(replica, "jwtAlgorithm", SignatureAlgorithm.ES256);
+        ReflectionTestUtils.setField(replica, "jwtExpirationInMs", 86400000L);
+        ReflectionTestUtils.setField(replica, "jwtSecret", jwtSecret);
+        ReflectionTestUtils.setField(replica, "rotationIntervalMs", 86400000L);
+        ReflectionTestUtils.setField(replica, "publishLeadMs", 600000L);
+        ReflectionTestUtils.setField(replica, "hs512AcceptedUntil", "");
+        replica.init();
+
+        String kid = signingKeys.current().kid();
+        assertThat(replica.current().kid()).isEqualTo(kid);
+        assertThat(replica.verificationKey(kid)).isEqualTo(signingKeys.verificationKey(kid));
+    }
+
+    @Test
+    void testHs512TokensAreOnlyAcceptedUntilTheCutoff() {
+        assertThat(jwtTokenProvider.verify(hs512Token()).getStatus())
+                .isEqualTo(JwtVerificationResult.Status.UNSUPPORTED);
+
+        ReflectionTestUtils.setField(signingKeys, "hs512AcceptedUntilMillis", System.currentTimeMillis() + 60000);
+        try {
+            assertThat(jwtTokenProvider.verify(hs512Token()).isValid()).isTrue();
+        } finally {
+            ReflectionTestUtils.setField(signingKeys, "hs512AcceptedUntilMillis", 0L);
+        }
+    }
+
+    @Test
+    void testJwksPublishesVerificationKeys() throws Exception {
+        String kid = signingKeys.current().kid();
+
+        mockMvc.perform(get("/.well-known/jwks.json"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "max-age=300, public"))
+                .andExpect(jsonPath("$.keys[?(@.kid == '" + kid + "')].kty").value("EC"))
+                .andExpect(jsonPath("$.keys[?(@.kid == '" + kid + "')].crv").value("P-256"))
+                .andExpect(jsonPath("$.keys[0].d").doesNotExist());
+    }
+
+    private String hs512Token() {
+        return Jwts.builder()
+                .setId(UUID.randomUUID().toString())
+                .setSubject("1")
+                .setExpiration(new Date(System.currentTimeMillis() + 60000))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret)), SignatureAlgorithm.HS512)
+                .compact();
+    }
+}
@@ -5,6 +5,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -15,6 +16,12 @@ import com.kumar.wipro.api.model.RoleName;
 import com.kumar.wipro.api.model.User;
 
 import java.util.Collections;
+import java.util.Date;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
 
 @SpringBootTest
 @ActiveProfiles("test")
@@ -23,6 +30,9 @@ public class JwtTokenProviderTest {
     @Autowired
     private JwtTokenProvider jwtTokenProvider;
 
+    @Value("${app.jwtSecret}")
+    private String jwtSecret;
+
     private Authentication authentication;
     private User testUser;
 
@@ -50,10 +60,62 @@ public class JwtTokenProviderTest {
     void testGetUserIdFromToken() {
         String token = jwtTokenProvider.generateToken(authentication);
         Long userId = jwtTokenProvider.getUserIdFromToken(token);
-        
+
         assertThat(userId).isEqualTo(1L);
     }
 
+    @Test
+    void testGetUserIdFromToken_RevokedToken() {
+        String token = jwtTokenProvider.generateToken(authentication);
+        jwtTokenProvider.revokeToken(token);
+
+        assertThat(jwtTokenProvider.getUserIdFromToken(token)).isNull();
+        assertThat(jwtTokenProvider.getUserIdFromToken("invalid.jwt.token")).isNull();
+    }
+
+    @Test
+    void testVerify_ValidToken() {
+        String token = jwtTokenProvider.generateToken(authentication);
+        JwtVerificationResult result = jwtTokenProvider.verify(token);
+
+        assertThat(result.isValid()).isTrue();
+        assertThat(result.getClaims().getSubject()).isEqualTo("1");
+    }
+
+    @Test
+    void testVerify_TamperedSignature() {
+        String token = jwtTokenProvider.generateToken(authentication);
+        char last = token.charAt(token.length() - 2);
+        String tampered = token.substring(0, token.length() - 2) + (last == 'A' ? 'B' : 'A') + token.charAt(token.length() - 1);
+
+        assertThat(jwtTokenProvider.verify(tampered).getStatus())
+                .isEqualTo(JwtVerificationResult.Status.INVALID_SIGNATURE);
+    }
+
+    @Test
+    void testVerify_ExpiredToken() {
+        String token = Jwts.builder()
+                .setSubject("1")
+                .setIssuedAt(new Date(System.currentTimeMillis() - 120000))
+                .setExpiration(new Date(System.currentTimeMillis() - 60000))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret)), SignatureAlgorithm.HS512)
+                .compact();
+
+        assertThat(jwtTokenProvider.verify(token).getStatus())
+                .isEqualTo(JwtVerificationResult.Status.EXPIRED);
+    }
+
+    @Test
+    void testVerify_RejectedWithoutClaims() {
+        assertThat(jwtTokenProvider.verify("invalid.jwt.token").getStatus())
+                .isEqualTo(JwtVerificationResult.Status.MALFORMED);
+        assertThat(jwtTokenProvider.verify("not-a-jwt").getStatus())
+                .isEqualTo(JwtVerificationResult.Status.MALFORMED);
+        assertThat(jwtTokenProvider.verify(null).getStatus())
+                .isEqualTo(JwtVerificationResult.Status.EMPTY);
+        assertThat(jwtTokenProvider.verify(null).getClaims()).isNull();
+    }
+
     @Test
     void testValidateToken_ValidToken() {
         String token = jwtTokenProvider.generateToken(authentication);
@@ -0,0 +1,93 @@
+package com.kumar.wipro.api.security;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import com.kumar.wipro.api.exception.TooManyRequestsException;
+import com.kumar.wipro.api.repository.UserRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class LoginThrottleTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+
+    private final LoginThrottle throttle = new LoginThrottle(1024, 3, 60000, 2, 60000, 1000,
+            new SimpleMeterRegistry(), userRepository);
+
+    @Test
+    void testUsernameLockedAfterFailures() {
+        throttle.recordFailure("JohnDoe");
+        assertThatCode(() -> throttle.checkAllowed("johndoe", "10.0.0.1")).doesNotThrowAnyException();
+
+        throttle.recordFailure("johndoe ");
+
+        assertThatThrownBy(() -> throttle.checkAllowed("johndoe", "10.0.0.2"))
+                .isInstanceOf(TooManyRequestsException.class);
+        assertThatCode(() -> throttle.checkAllowed("janedoe", "10.0.0.2")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void testClientAddressLimitedAcrossUsernames() {
+        throttle.checkAllowed("user1", "10.0.0.1");
+        throttle.checkAllowed("user2", "10.0.0.1");
+        throttle.checkAllowed("user3", "10.0.0.1");
+
+        assertThatThrownBy(() -> throttle.checkAllowed("user4", "10.0.0.1"))
+                .isInstanceOf(TooManyRequestsException.class);
+        assertThatCode(() -> throttle.checkAllowed("user4", "10.0.0.9")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void testUsernameSprayLocksOutNoOtherUsername() {
+        for (int i = 0; i < 20000; i++) {
+            throttle.recordFailure("sprayed" + i);
+            throttle.recordFailure("sprayed" + i);
+        }
+
+        assertThatCode(() -> throttle.checkAllowed("janedoe", "10.0.0.2")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void testEmailAndUsernameShareOneBucket() {
+        when(userRepository.findUsernameNormalizedByEmailNormalized("alice@example.com"))
+                .thenReturn(Optional.of("alice"));
+
+        throttle.recordFailure("Alice@Example.com");
+        throttle.recordFailure("alice");
+
+        assertThatThrownBy(() -> throttle.checkAllowed("alice@example.com", "10.0.0.3"))
+                .isInstanceOf(TooManyRequestsException.class);
+        assertThatThrownBy(() -> throttle.checkAllowed("alice", "10.0.0.3"))
+                .isInstanceOf(TooManyRequestsException.class);
+    }
+
+    @Test
+    void testEmailOfLockedOutUsernameResolvesOnFirstFailure() {
+        when(userRepository.findUsernameNormalizedByEmailNormalized("alice@example.com"))
+                .thenReturn(Optional.of("alice"));
+        throttle.recordFailure("alice");
+        throttle.recordFailure("alice");
+
+        throttle.recordFailure("alice@example.com");
+
+        assertThatThrownBy(() -> throttle.checkAllowed("alice@example.com", "10.0.0.3"))
+                .isInstanceOf(TooManyRequestsException.class);
+    }
+
+    @Test
+    void testUnknownEmailKeyedAsGiven() {
+        throttle.recordFailure("nobody@example.com");
+        throttle.recordFailure("nobody@example.com");
+
+        assertThatThrownBy(() -> throttle.checkAllowed("nobody@example.com", "10.0.0.3"))
+                .isInstanceOf(TooManyRequestsException.class);
+        assertThatCode(() -> throttle.checkAllowed("nobody", "10.0.0.3")).doesNotThrowAnyException();
+    }
+}
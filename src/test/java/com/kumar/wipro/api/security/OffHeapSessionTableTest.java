@@ -0,0 +1,130 @@
+package com.kumar.wipro.api.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+public class OffHeapSessionTableTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testRecordReusesUsernameOfSameUser() {
+        OffHeapSessionTable table = OffHeapSessionTable.allocate(16);
+        OffHeapSessionTable.SessionRecord record = new OffHeapSessionTable.SessionRecord();
+        long now = System.currentTimeMillis();
+        table.put(11L, 12L, 42L, 0, 1, "johndoe", now + 60000);
+        table.put(21L, 22L, 43L, 0, 1, "janedoe", now + 60000);
+
+        table.get(11L, 12L, now, record);
+        String first = record.username();
+        table.get(11L, 12L, now, record);
+        assertThat(record.username()).isSameAs(first);
+
+        table.get(21L, 22L, now, record);
+        assertThat(record.username()).isEqualTo("janedoe");
+    }
+
+    @Test
+    void testPutGetAndRemove() {
+        OffHeapSessionTable table = OffHeapSessionTable.allocate(16);
+        OffHeapSessionTable.SessionRecord record = new OffHeapSessionTable.SessionRecord();
+        long now = System.currentTimeMillis();
+
+        assertThat(table.put(11L, 12L, 42L, 3, 1, "johndoe", now + 60000)).isTrue();
+
+        assertThat(table.get(11L, 12L, now, record)).isTrue();
+        assertThat(record.userId()).isEqualTo(42L);
+        assertThat(record.tokenVersion()).isEqualTo(3);
+        assertThat(record.roleMask()).isEqualTo(1);
+        assertThat(record.username()).isEqualTo("johndoe");
+        assertThat(table.get(11L, 13L, now, record)).isFalse();
+
+        assertThat(table.remove(11L, 12L)).isTrue();
+        assertThat(table.get(11L, 12L, now, record)).isFalse();
+        assertThat(table.size()).isZero();
+    }
+
+    @Test
+    void testExpiredSessionIsNotReturnedAndGetsSwept() {
+        OffHeapSessionTable table = OffHeapSessionTable.allocate(16);
+        OffHeapSessionTable.SessionRecord record = new OffHeapSessionTable.SessionRecord();
+        long now = System.currentTimeMillis();
+        table.put(11L, 1L, 1L, 0, 1, "a", now + 1000);
+        table.put(21L, 2L, 2L, 0, 1, "b", now + 60000);
+
+        assertThat(table.get(11L, 1L, now + 2000, record)).isFalse();
+        assertThat(table.removeExpired(now + 2000)).isEqualTo(1);
+        assertThat(table.size()).isEqualTo(1);
+        assertThat(table.get(21L, 2L, now + 2000, record)).isTrue();
+    }
+
+    @Test
+    void testTouchExtendsExpiry() {
+        OffHeapSessionTable table = OffHeapSessionTable.allocate(16);
+        OffHeapSessionTable.SessionRecord record = new OffHeapSessionTable.SessionRecord();
+        long now = System.currentTimeMillis();
+        table.put(11L, 1L, 1L, 0, 1, "a", now + 1000);
+
+        table.touch(11L, 1L, now + 5000);
+
+        assertThat(table.get(11L, 1L, now + 2000, record)).isTrue();
+        assertThat(record.expiresAt()).isEqualTo(now + 5000);
+    }
+
+    @Test
+    void testCollidingKeysSurviveRemovalOfEarlierEntry() {
+        OffHeapSessionTable table = OffHeapSessionTable.allocate(16);
+        OffHeapSessionTable.SessionRecord record = new OffHeapSessionTable.SessionRecord();
+        long now = System.currentTimeMillis();
+        // Same home slot (keyHi 1 + 16k), so they form one probe chain
+        for (long i = 0; i < 5; i++) {
+            table.put(1L + 16 * i, i, i, 0, 1, "user" + i, now + 60000);
+        }
+
+        table.remove(1L, 0L);
+        table.remove(1L + 32, 2L);
+
+        assertThat(table.size()).isEqualTo(3);
+        for (long i : new long[] {1, 3, 4}) {
+            assertThat(table.get(1L + 16 * i, i, now, record)).isTrue();
+            assertThat(record.username()).isEqualTo("user" + i);
+        }
+    }
+
+    @Test
+    void testRefusesInsertsBeyondLoadFactor() {
+        OffHeapSessionTable table = OffHeapSessionTable.allocate(8);
+        long now = System.currentTimeMillis();
+        for (long i = 1; i <= 6; i++) {
+            assertThat(table.put(i, i, i, 0, 1, "u", now + 60000)).isTrue();
+        }
+
+        assertThat(table.put(7L, 7L, 7L, 0, 1, "u", now + 60000)).isFalse();
+    }
+
+    @Test
+    void testSessionsSurviveReopeningMappedFile() throws Exception {
+        Path file = tempDir.resolve("sessions.bin");
+        long now = System.currentTimeMillis();
+        try (OffHeapSessionTable table = OffHeapSessionTable.open(file, 64)) {
+            table.put(11L, 12L, 42L, 0, 3, "johndoe", now + 60000);
+        }
+
+        try (OffHeapSessionTable reopened = OffHeapSessionTable.open(file, 64)) {
+            OffHeapSessionTable.SessionRecord record = new OffHeapSessionTable.SessionRecord();
+            assertThat(reopened.size()).isEqualTo(1);
+            assertThat(reopened.get(11L, 12L, now, record)).isTrue();
+            assertThat(record.username()).isEqualTo("johndoe");
+            assertThat(record.roleMask()).isEqualTo(3);
+        }
+
+        try (OffHeapSessionTable resized = OffHeapSessionTable.open(file, 128)) {
+            assertThat(resized.size()).isZero();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.kumar.wipro.api.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.Test;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import com.kumar.wipro.api.model.Role;
+import com.kumar.wipro.api.model.RoleName;
+import com.kumar.wipro.api.model.User;
+
+public class RoleAuthoritiesTest {
+
+    private final RoleMaskMethodSecurityExpressionHandler handler = new RoleMaskMethodSecurityExpressionHandler();
+
+    @Test
+    void testPrincipalsShareInternedAuthorities() {
+        User user = new User("John Doe", "johndoe", "john@example.com", "secret");
+        user.getRoles().add(new Role(RoleName.ROLE_USER));
+        user.getRoles().add(new Role(RoleName.ROLE_ADMIN));
+
+        UserPrincipal first = UserPrincipal.create(user);
+        UserPrincipal second = UserPrincipal.create(user);
+
+        assertThat(first.getAuthorities()).isSameAs(second.getAuthorities());
+        assertThat(first.getAuthorities().stream().map(GrantedAuthority.class::cast)).containsExactly(
+                RoleAuthorities.authority(RoleName.ROLE_USER), RoleAuthorities.authority(RoleName.ROLE_ADMIN));
+        assertThat(first.hasRole(RoleName.ROLE_ADMIN)).isTrue();
+    }
+
+    @Test
+    void testMaskRoundTripsThroughTokenClaimNames() {
+        int mask = RoleAuthorities.maskOfNames(List.of("ROLE_ADMIN", "ROLE_UNKNOWN"));
+
+        assertThat(mask).isEqualTo(RoleAuthorities.bit(RoleName.ROLE_ADMIN));
+        assertThat(RoleAuthorities.mask(RoleAuthorities.authorities(mask))).isEqualTo(mask);
+        assertThat(RoleAuthorities.bit("ADMIN")).isEqualTo(RoleAuthorities.bit("ROLE_ADMIN"));
+        assertThat(RoleAuthorities.bit("AUDITOR")).isZero();
+    }
+
+    @Test
+    void testRoleExpressionsUseRoleBits() throws Exception {
+        UserPrincipal user = new UserPrincipal(1L, "User", "user", null, null, 0,
+                RoleAuthorities.bit(RoleName.ROLE_USER));
+
+        assertThat(evaluate("hasRole('USER')", user)).isTrue();
+        assertThat(evaluate("hasRole('ROLE_USER')", user)).isTrue();
+        assertThat(evaluate("hasRole('ADMIN')", user)).isFalse();
+        assertThat(evaluate("hasAnyRole('ADMIN', 'USER')", user)).isTrue();
+        assertThat(evaluate("hasRole('AUDITOR')", user)).isFalse();
+    }
+
+    @Test
+    void testOtherPrincipalsUseStandardRoleChecks() throws Exception {
+        Authentication authentication = new UsernamePasswordAuthenticationToken("someone", null,
+                List.of(new SimpleGrantedAuthority("ROLE_AUDITOR")));
+
+        assertThat(evaluate("hasRole('AUDITOR')", authentication)).isTrue();
+        assertThat(evaluate("hasRole('USER')", authentication)).isFalse();
+    }
+
+    private boolean evaluate(String expression, UserPrincipal principal) throws Exception {
+        return evaluate(expression, new UsernamePasswordAuthenticationToken(principal, null,
+                principal.getAuthorities()));
+    }
+
+    private boolean evaluate(String expression, Authentication authentication) throws Exception {
+        Supplier<Authentication> supplier = () -> authentication;
+        MethodInvocation invocation = mock(MethodInvocation.class);
+        when(invocation.getThis()).thenReturn(this);
+        when(invocation.getMethod()).thenReturn(Object.class.getMethod("toString"));
+        when(invocation.getArguments()).thenReturn(new Object[0]);
+        EvaluationContext context = handler.createEvaluationContext(supplier, invocation);
+        return handler.getExpressionParser().parseExpression(expression).getValue(context, Boolean.class);
+    }
+}
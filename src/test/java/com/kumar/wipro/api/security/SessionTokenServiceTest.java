@@ -0,0 +1,55 @@
+package com.kumar.wipro.api.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.kumar.wipro.api.exception.ServiceUnavailableException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class SessionTokenServiceTest {
+
+    private static final UserPrincipal PRINCIPAL = new UserPrincipal(42L, "John Doe", "johndoe", null, null, 0, 1);
+
+    private SessionTokenService sessionTokenService;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        sessionTokenService.close();
+    }
+
+    @Test
+    void testFullTableReturnsServiceUnavailable() throws Exception {
+        sessionTokenService = service(60000);
+        for (int i = 0; i < 12; i++) {
+            sessionTokenService.createSession(PRINCIPAL);
+        }
+
+        assertThatThrownBy(() -> sessionTokenService.createSession(PRINCIPAL))
+                .isInstanceOf(ServiceUnavailableException.class);
+    }
+
+    @Test
+    void testFullTableMakesRoomFromExpiredSessions() throws Exception {
+        sessionTokenService = service(-1);
+        for (int i = 0; i < 12; i++) {
+            sessionTokenService.createSession(PRINCIPAL);
+        }
+
+        assertThat(sessionTokenService.createSession(PRINCIPAL)).startsWith(SessionTokenService.TOKEN_PREFIX);
+        assertThat(sessionTokenService.activeSessions()).isEqualTo(1);
+    }
+
+    private static SessionTokenService service(long idleTimeoutMs) throws Exception {
+        SessionTokenService service = new SessionTokenService(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "idleTimeoutMs", idleTimeoutMs);
+        ReflectionTestUtils.setField(service, "capacity", 16);
+        ReflectionTestUtils.setField(service, "snapshotPath", "");
+        service.init();
+        return service;
+    }
+}
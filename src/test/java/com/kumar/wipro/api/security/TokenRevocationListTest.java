@@ -0,0 +1,106 @@
+package com.kumar.wipro.api.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.kumar.wipro.api.model.RevokedToken;
+import com.kumar.wipro.api.repository.RevokedTokenRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+public class TokenRevocationListTest {
+
+    private static final long TICK_MS = 1000;
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private TokenRevocationList revocationList;
+
+    @BeforeEach
+    void setUp() {
+        revocationList = new TokenRevocationList(1000, TICK_MS, 60000, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(revocationList, "revokedTokenRepository", revokedTokenRepository);
+    }
+
+    @Test
+    void testRevocationIsStoredForOtherInstances() {
+        revocationList.revoke("jti-1", System.currentTimeMillis() + 30000);
+
+        verify(revokedTokenRepository).save(argThat(token -> token.getTokenId().equals("jti-1")));
+    }
+
+    @Test
+    void testRevocationsFromOtherInstancesAreApplied() {
+        long now = System.currentTimeMillis();
+        when(revokedTokenRepository.findRevokedSince(any(), any())).thenReturn(List.of(
+                new RevokedToken("jti-remote", Instant.ofEpochMilli(now + 30000), Instant.ofEpochMilli(now - 1000))));
+
+        revocationList.sync(now);
+
+        assertThat(revocationList.isRevoked("jti-remote")).isTrue();
+    }
+
+    @Test
+    void testRevokedTokenIsReported() {
+        revocationList.revoke("jti-1", System.currentTimeMillis() + 30000);
+
+        assertThat(revocationList.isRevoked("jti-1")).isTrue();
+        assertThat(revocationList.isRevoked("jti-2")).isFalse();
+        assertThat(revocationList.isRevoked(null)).isFalse();
+    }
+
+    @Test
+    void testAlreadyExpiredTokenIsNotStored() {
+        revocationList.revoke("jti-1", System.currentTimeMillis() - 1);
+
+        assertThat(revocationList.isRevoked("jti-1")).isFalse();
+        assertThat(revocationList.size()).isZero();
+    }
+
+    @Test
+    void testSweepDropsEntriesOnceTheirTokenExpires() {
+        long now = System.currentTimeMillis();
+        revocationList.revoke("short", now + 5000);
+        revocationList.revoke("long", now + 50000);
+
+        revocationList.sweep(now + 2000);
+        assertThat(revocationList.size()).isEqualTo(2);
+
+        revocationList.sweep(now + 7000);
+        assertThat(revocationList.isRevoked("short")).isFalse();
+        assertThat(revocationList.isRevoked("long")).isTrue();
+
+        revocationList.sweep(now + 52000);
+        assertThat(revocationList.size()).isZero();
+    }
+
+    @Test
+    void testExpiryBeyondOneWheelTurnIsKept() {
+        long now = System.currentTimeMillis();
+        revocationList.revoke("far", now + 150000);
+
+        revocationList.sweep(now + 70000);
+        assertThat(revocationList.isRevoked("far")).isTrue();
+
+        revocationList.sweep(now + 140000);
+        assertThat(revocationList.isRevoked("far")).isTrue();
+
+        revocationList.sweep(now + 152000);
+        assertThat(revocationList.isRevoked("far")).isFalse();
+    }
+}
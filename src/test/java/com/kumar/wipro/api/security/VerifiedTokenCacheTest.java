@@ -0,0 +1,66 @@
+package com.kumar.wipro.api.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.util.Date;
+
+public class VerifiedTokenCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private VerifiedTokenCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new VerifiedTokenCache(100, meterRegistry);
+    }
+
+    @Test
+    void testPutAndGet() {
+        JwtVerificationResult result = JwtVerificationResult.valid(claimsExpiringIn(60000));
+        cache.put("header.payload.signature", result);
+
+        assertThat(cache.get("header.payload.signature")).isSameAs(result);
+        assertThat(cache.get("header.payload.other")).isNull();
+    }
+
+    @Test
+    void testExpiredTokenIsNotCached() {
+        cache.put("header.payload.signature", JwtVerificationResult.valid(claimsExpiringIn(-1000)));
+
+        assertThat(cache.get("header.payload.signature")).isNull();
+    }
+
+    @Test
+    void testFailureIsNotCached() {
+        cache.put("header.payload.signature",
+                JwtVerificationResult.failure(JwtVerificationResult.Status.INVALID_SIGNATURE));
+
+        assertThat(cache.get("header.payload.signature")).isNull();
+    }
+
+    @Test
+    void testHitAndMissMetrics() {
+        cache.put("header.payload.signature", JwtVerificationResult.valid(claimsExpiringIn(60000)));
+        cache.get("header.payload.signature");
+        cache.get("header.payload.unknown");
+
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "jwt.verified").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "jwt.verified").tag("result", "miss")
+                .functionCounter().count()).isEqualTo(1.0);
+    }
+
+    private static Claims claimsExpiringIn(long millis) {
+        Claims claims = Jwts.claims().setSubject("1");
+        claims.setExpiration(new Date(System.currentTimeMillis() + millis));
+        return claims;
+    }
+}
@@ -43,7 +43,7 @@ public class CustomUserDetailsServiceTest {
 
     @Test
     void testLoadUserByUsername_Success() {
-        when(userRepository.findByUsernameOrEmail("testuser", "testuser"))
+        when(userRepository.findWithRolesByUsernameNormalized("testuser"))
                 .thenReturn(Optional.of(testUser));
 
         UserDetails userDetails = customUserDetailsService.loadUserByUsername("testuser");
@@ -55,7 +55,7 @@ public class CustomUserDetailsServiceTest {
 
     @Test
     void testLoadUserByUsername_UserNotFound() {
-        when(userRepository.findByUsernameOrEmail(any(), any()))
+        when(userRepository.findWithRolesByUsernameNormalized(any()))
                 .thenReturn(Optional.empty());
 
         assertThrows(UsernameNotFoundException.class, () -> {
@@ -63,9 +63,29 @@ public class CustomUserDetailsServiceTest {
         });
     }
 
+    @Test
+    void testLoadUserByEmail_IgnoresCase() {
+        when(userRepository.findWithRolesByEmailNormalized("test@example.com"))
+                .thenReturn(Optional.of(testUser));
+
+        UserDetails userDetails = customUserDetailsService.loadUserByUsername(" Test@Example.COM");
+
+        assertThat(userDetails.getUsername()).isEqualTo("testuser");
+    }
+
+    @Test
+    void testLoadUserByUsernameContainingAt() {
+        when(userRepository.findWithRolesByEmailNormalized("old@name")).thenReturn(Optional.empty());
+        when(userRepository.findWithRolesByUsernameNormalized("old@name")).thenReturn(Optional.of(testUser));
+
+        UserDetails userDetails = customUserDetailsService.loadUserByUsername("Old@Name");
+
+        assertThat(userDetails.getUsername()).isEqualTo("testuser");
+    }
+
     @Test
     void testLoadUserById_Success() {
-        when(userRepository.findById(1L))
+        when(userRepository.findWithRolesById(1L))
                 .thenReturn(Optional.of(testUser));
 
         UserDetails userDetails = customUserDetailsService.loadUserById(1L);
@@ -76,7 +96,7 @@ public class CustomUserDetailsServiceTest {
 
     @Test
     void testLoadUserById_UserNotFound() {
-        when(userRepository.findById(any()))
+        when(userRepository.findWithRolesById(any()))
                 .thenReturn(Optional.empty());
 
         assertThrows(UsernameNotFoundException.class, () -> {
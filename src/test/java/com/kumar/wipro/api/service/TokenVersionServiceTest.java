@@ -0,0 +1,93 @@
+package com.kumar.wipro.api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.kumar.wipro.api.repository.UserRepository;
+
+@ExtendWith(MockitoExtension.class)
+public class TokenVersionServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private TokenVersionService tokenVersionService;
+
+    @BeforeEach
+    void setUp() {
+        tokenVersionService = new TokenVersionService(1000);
+        ReflectionTestUtils.setField(tokenVersionService, "userRepository", userRepository);
+        ReflectionTestUtils.setField(tokenVersionService, "eventPublisher", eventPublisher);
+    }
+
+    @Test
+    void testUnknownUsersAreCached() {
+        when(userRepository.findTokenVersionById(7L)).thenReturn(Optional.empty());
+
+        assertThat(tokenVersionService.currentVersion(7L)).isEqualTo(TokenVersionService.UNKNOWN_USER);
+        assertThat(tokenVersionService.currentVersion(7L)).isEqualTo(TokenVersionService.UNKNOWN_USER);
+
+        verify(userRepository, times(1)).findTokenVersionById(7L);
+    }
+
+    @Test
+    void testRefreshUpdatesEntriesInPlace() {
+        when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.of(0));
+        when(userRepository.findTokenVersionById(2L)).thenReturn(Optional.of(3));
+        tokenVersionService.currentVersion(1L);
+        tokenVersionService.currentVersion(2L);
+        // User 1 was bumped and user 2 deleted through another instance
+        when(userRepository.findTokenVersionsByIdIn(any())).thenReturn(List.<Object[]>of(new Object[] { 1L, 1 }));
+
+        tokenVersionService.refresh();
+
+        assertThat(tokenVersionService.currentVersion(1L)).isEqualTo(1);
+        assertThat(tokenVersionService.currentVersion(2L)).isEqualTo(TokenVersionService.UNKNOWN_USER);
+        verify(userRepository, times(1)).findTokenVersionById(1L);
+        verify(userRepository, times(1)).findTokenVersionById(2L);
+    }
+
+    @Test
+    void testRefreshNeverMovesAVersionBackwards() {
+        when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.of(0));
+        tokenVersionService.currentVersion(1L);
+        // The refresh reads version 0, then the user is bumped before the refresh writes it back
+        when(userRepository.findTokenVersionsByIdIn(any())).thenAnswer(invocation -> {
+            when(userRepository.incrementTokenVersion(1L)).thenReturn(1);
+            when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.of(1));
+            tokenVersionService.invalidateTokens(1L);
+            return List.<Object[]>of(new Object[] { 1L, 0 });
+        });
+
+        tokenVersionService.refresh();
+
+        assertThat(tokenVersionService.currentVersion(1L)).isEqualTo(1);
+    }
+
+    @Test
+    void testInvalidatingAMissingUserPublishesNothing() {
+        when(userRepository.incrementTokenVersion(9L)).thenReturn(0);
+
+        assertThat(tokenVersionService.invalidateTokens(9L)).isEqualTo(TokenVersionService.UNKNOWN_USER);
+
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+}
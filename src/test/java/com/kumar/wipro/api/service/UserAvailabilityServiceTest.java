@@ -0,0 +1,121 @@
+package com.kumar.wipro.api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.kumar.wipro.api.dto.UserProfile;
+import com.kumar.wipro.api.model.UserChangedEvent;
+import com.kumar.wipro.api.repository.UserRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+public class UserAvailabilityServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private UserAvailabilityService userAvailabilityService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        userAvailabilityService = new UserAvailabilityService(1000, 0.001, 100, meterRegistry);
+        ReflectionTestUtils.setField(userAvailabilityService, "userRepository", userRepository);
+    }
+
+    @Test
+    void testChecksGoToTheDatabaseUntilTheFiltersAreBuilt() {
+        when(userRepository.existsByUsernameNormalized("ann")).thenReturn(true);
+
+        assertThat(userAvailabilityService.isUsernameAvailable("Ann")).isFalse();
+        assertThat(checks("database")).isEqualTo(1.0);
+    }
+
+    @Test
+    void testUnknownValuesAreAnsweredWithoutTheDatabase() {
+        when(userRepository.streamLoginKeys(anyInt()))
+                .thenReturn(Stream.<Object[]>of(new Object[] { "ann", "ann@example.com" }));
+        userAvailabilityService.rebuild();
+
+        assertThat(userAvailabilityService.isUsernameAvailable("newcomer")).isTrue();
+        assertThat(userAvailabilityService.isEmailAvailable("newcomer@example.com")).isTrue();
+        verify(userRepository, never()).existsByUsernameNormalized(anyString());
+        verify(userRepository, never()).existsByEmailNormalized(anyString());
+        assertThat(checks("filter")).isEqualTo(2.0);
+    }
+
+    @Test
+    void testProbableCollisionsAreConfirmedCaseInsensitively() {
+        when(userRepository.streamLoginKeys(anyInt()))
+                .thenReturn(Stream.<Object[]>of(new Object[] { "ann", "ann@example.com" }));
+        userAvailabilityService.rebuild();
+        when(userRepository.existsByUsernameNormalized("ann")).thenReturn(true);
+        when(userRepository.existsByEmailNormalized("ann@example.com")).thenReturn(false);
+
+        assertThat(userAvailabilityService.isUsernameAvailable(" ANN ")).isFalse();
+        // The user was deleted since the last rebuild
+        assertThat(userAvailabilityService.isEmailAvailable("Ann@Example.com")).isTrue();
+        assertThat(checks("database")).isEqualTo(2.0);
+    }
+
+    @Test
+    void testUsersCommittedDuringARebuildReachTheNewFilters() {
+        when(userRepository.findProfileById(2L))
+                .thenReturn(Optional.of(new UserProfile(2L, "Bob", "Bob", "Bob@example.com")));
+        when(userRepository.streamLoginKeys(anyInt())).thenAnswer(invocation -> {
+            // Signed up after the rebuild started reading, so the rows it reads do not include it
+            userAvailabilityService.onUserChanged(new UserChangedEvent(2L, "Bob"));
+            return Stream.<Object[]>of(new Object[] { "ann", "ann@example.com" });
+        });
+        userAvailabilityService.rebuild();
+        when(userRepository.existsByUsernameNormalized("bob")).thenReturn(true);
+        when(userRepository.existsByEmailNormalized("bob@example.com")).thenReturn(true);
+
+        assertThat(userAvailabilityService.isUsernameAvailable("bob")).isFalse();
+        assertThat(userAvailabilityService.isEmailAvailable("bob@example.com")).isFalse();
+    }
+
+    @Test
+    void testUsersCommittedWhileTheTableIsCountedReachTheNewFilters() {
+        when(userRepository.findProfileById(2L))
+                .thenReturn(Optional.of(new UserProfile(2L, "Bob", "Bob", "Bob@example.com")));
+        when(userRepository.count()).thenAnswer(invocation -> {
+            userAvailabilityService.onUserChanged(new UserChangedEvent(2L, "Bob"));
+            return 1L;
+        });
+        when(userRepository.streamLoginKeys(anyInt()))
+                .thenReturn(Stream.<Object[]>of(new Object[] { "ann", "ann@example.com" }));
+        userAvailabilityService.rebuild();
+        when(userRepository.existsByUsernameNormalized("bob")).thenReturn(true);
+
+        assertThat(userAvailabilityService.isUsernameAvailable("bob")).isFalse();
+    }
+
+    @Test
+    void testTokenVersionBumpsAreIgnored() {
+        userAvailabilityService.onUserChanged(new UserChangedEvent(1L, null));
+
+        verify(userRepository, never()).findProfileById(1L);
+    }
+
+    private double checks(String source) {
+        return meterRegistry.get("users.availability.checks").tag("source", source).counter().count();
+    }
+}
@@ -0,0 +1,116 @@
+package com.kumar.wipro.api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.kumar.wipro.api.dto.PublicUserProfile;
+import com.kumar.wipro.api.dto.UserBatchResponse;
+import com.kumar.wipro.api.repository.UserRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+public class UserBatchServiceTest {
+
+    private static final List<PublicUserProfile> USERS = List.of(
+            new PublicUserProfile(1L, "Ann", "ann"),
+            new PublicUserProfile(2L, "Bob", "bob"),
+            new PublicUserProfile(3L, "Cid", "cid"),
+            new PublicUserProfile(4L, "Dee", "dee"));
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserBatchService userBatchService;
+
+    @BeforeEach
+    void setUp() {
+        userBatchService = new UserBatchService();
+        ReflectionTestUtils.setField(userBatchService, "userRepository", userRepository);
+        ReflectionTestUtils.setField(userBatchService, "userProfileCache",
+                new UserProfileCache(100, 60000, 5000, new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(userBatchService, "chunkSize", 2);
+    }
+
+    @Test
+    void testUsernamesAreLoadedInChunksAndKeepRequestOrder() {
+        when(userRepository.findPublicProfilesByUsernameNormalizedIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<String> usernames = invocation.getArgument(0);
+            assertThat(usernames).hasSizeLessThanOrEqualTo(2);
+            return USERS.stream().filter(user -> usernames.contains(user.getUsername())).toList();
+        });
+
+        UserBatchResponse response = userBatchService.lookup(
+                List.of("dee", "nobody", "ann", "cid", "dee"), List.of());
+
+        assertThat(response.getUsernames()).containsOnlyKeys("dee", "ann", "cid");
+        assertThat(response.getUsernames().keySet()).containsExactly("dee", "ann", "cid");
+        assertThat(response.getUsernames().get("ann").getName()).isEqualTo("Ann");
+        assertThat(response.getMissingUsernames()).containsExactly("nobody");
+        verify(userRepository, times(2)).findPublicProfilesByUsernameNormalizedIn(anyCollection());
+    }
+
+    @Test
+    void testCachedKeysSkipTheDatabase() {
+        when(userRepository.findPublicProfilesByUsernameNormalizedIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<String> usernames = invocation.getArgument(0);
+            return USERS.stream().filter(user -> usernames.contains(user.getUsername())).toList();
+        });
+        userBatchService.lookup(List.of("ann", "bob", "nobody"), List.of());
+
+        // Found and unknown usernames are both cached, and the found ones answer their ids too
+        UserBatchResponse response = userBatchService.lookup(List.of("bob", "nobody", "ann"), List.of(2L, 1L));
+
+        assertThat(response.getUsernames().keySet()).containsExactly("bob", "ann");
+        assertThat(response.getMissingUsernames()).containsExactly("nobody");
+        assertThat(response.getIds().keySet()).containsExactly(2L, 1L);
+        verify(userRepository, times(2)).findPublicProfilesByUsernameNormalizedIn(anyCollection());
+        verify(userRepository, never()).findPublicProfilesByIdIn(anyCollection());
+    }
+
+    @Test
+    void testUsernamesMatchIgnoringCase() {
+        when(userRepository.findPublicProfilesByUsernameNormalizedIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<String> usernames = invocation.getArgument(0);
+            assertThat(usernames).containsOnly("ann", "bob");
+            return USERS.stream().filter(user -> usernames.contains(user.getUsername())).toList();
+        });
+
+        UserBatchResponse response = userBatchService.lookup(List.of("ANN", "Bob ", "ann"), List.of());
+
+        assertThat(response.getUsernames().keySet()).containsExactly("ANN", "Bob ", "ann");
+        assertThat(response.getUsernames().get("ANN").getId()).isEqualTo(1L);
+        assertThat(response.getMissingUsernames()).isEmpty();
+    }
+
+    @Test
+    void testUncachedIdsAreLoadedInChunks() {
+        when(userRepository.findPublicProfilesByIdIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            assertThat(ids).hasSizeLessThanOrEqualTo(2);
+            return USERS.stream().filter(user -> ids.contains(user.getId())).toList();
+        });
+
+        UserBatchResponse response = userBatchService.lookup(List.of(), List.of(4L, 9L, 1L, 3L, 2L));
+
+        assertThat(response.getIds().keySet()).containsExactly(4L, 1L, 3L, 2L);
+        assertThat(response.getMissingIds()).containsExactly(9L);
+        assertThat(response.getUsernames()).isEmpty();
+        verify(userRepository, times(3)).findPublicProfilesByIdIn(anyCollection());
+        verify(userRepository, never()).findPublicProfilesByUsernameNormalizedIn(anyCollection());
+    }
+}
@@ -0,0 +1,73 @@
+package com.kumar.wipro.api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.kumar.wipro.api.dto.PublicUserProfile;
+import com.kumar.wipro.api.model.UserChangedEvent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class UserProfileCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final UserProfileCache cache = new UserProfileCache(100, 60000, 60000, meterRegistry);
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void testRepeatLookupsAreServedFromCache() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(cache.get("johndoe", this::load)).isPresent();
+        }
+
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.get("users.profile.hit.ratio").gauge().value()).isEqualTo(2.0 / 3);
+        assertThat(meterRegistry.find("cache.evictions").tag("cache", "users.profile").functionCounter()).isNotNull();
+    }
+
+    @Test
+    void testUnknownUsernamesAreCachedUntilTaken() {
+        assertThat(cache.get("nobody", this::load)).isEmpty();
+        assertThat(cache.get("nobody", this::load)).isEmpty();
+        assertThat(loads).hasValue(1);
+
+        cache.onUserChanged(new UserChangedEvent(7L, "nobody"));
+
+        assertThat(cache.get("nobody", this::load)).isEmpty();
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void testWriteKnownOnlyByIdInvalidatesProfile() {
+        cache.get("johndoe", this::load);
+
+        cache.onUserChanged(new UserChangedEvent(42L, null));
+        cache.get("johndoe", this::load);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void testRenamedUserIsDroppedUnderOldName() {
+        cache.get("johndoe", this::load);
+
+        cache.onUserChanged(new UserChangedEvent(42L, "johnny"));
+        cache.get("johndoe", this::load);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    private Optional<PublicUserProfile> load(String username) {
+        loads.incrementAndGet();
+        if (!username.equals("johndoe")) {
+            return Optional.empty();
+        }
+        return Optional.of(new PublicUserProfile(42L, "John Doe", username));
+    }
+}
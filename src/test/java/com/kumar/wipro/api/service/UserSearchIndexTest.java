@@ -0,0 +1,133 @@
+package com.kumar.wipro.api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.kumar.wipro.api.dto.UserSearchResult;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class UserSearchIndexTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private UserSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        index = new UserSearchIndex(2048, 0.3, meterRegistry);
+        index.put(1L, "johnny", "Johnny Walker");
+        index.put(2L, "john", "John Smith");
+        index.put(3L, "jsmith", "Jane Johnson");
+        index.put(4L, "alice", "Alice Cooper");
+        index.put(5L, "johnathan", "Nathan Ames");
+    }
+
+    @Test
+    void testRanksExactThenUsernamePrefixThenNamePrefix() {
+        List<UserSearchResult> results = index.search("John", 10);
+
+        // Exact username, username prefixes (shorter first), then name words starting with "john"
+        assertThat(results).extracting(UserSearchResult::getUsername)
+                .containsExactly("john", "johnny", "johnathan", "jsmith");
+        assertThat(results.get(0).getName()).isEqualTo("John Smith");
+    }
+
+    @Test
+    void testMatchesPrefixesOfLaterNameWords() {
+        assertThat(index.search("coo", 10)).extracting(UserSearchResult::getId).containsExactly(4L);
+        // The name-prefix hit ranks above fuzzy ones that only share "john"
+        assertThat(index.search("john sm", 10)).extracting(UserSearchResult::getId).first().isEqualTo(2L);
+    }
+
+    @Test
+    void testToleratesTypos() {
+        assertThat(index.search("alcie", 10)).isEmpty();
+        assertThat(index.search("cooperr", 10)).extracting(UserSearchResult::getId).containsExactly(4L);
+        assertThat(index.search("jonh smith", 10)).extracting(UserSearchResult::getId).first().isEqualTo(2L);
+    }
+
+    @Test
+    void testLimitsResults() {
+        assertThat(index.search("j", 2)).extracting(UserSearchResult::getUsername).containsExactly("john", "johnny");
+        assertThat(index.search("   ", 10)).isEmpty();
+        assertThat(index.search("zzz", 10)).isEmpty();
+    }
+
+    @Test
+    void testUpdatesReplaceTheIndexedUser() {
+        index.put(4L, "alicia", "Alicia Keys");
+
+        assertThat(index.search("keys", 10)).extracting(UserSearchResult::getUsername).containsExactly("alicia");
+        assertThat(index.search("cooper", 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(5);
+
+        index.remove(4L);
+        assertThat(index.search("alicia", 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(4);
+    }
+
+    @Test
+    void testPutIfAbsentKeepsNewerEntries() {
+        index.putIfAbsent(4L, "alice", "Stale Name");
+        index.putIfAbsent(6L, "bob", "Bob Stone");
+
+        assertThat(index.search("stale", 10)).isEmpty();
+        assertThat(index.search("bob", 10)).extracting(UserSearchResult::getId).containsExactly(6L);
+    }
+
+    @Test
+    void testPutIfAbsentDoesNotBringBackRemovedUsers() {
+        index.remove(4L);
+        index.remove(7L);
+        // A bulk load that read these rows before they were deleted
+        index.putIfAbsent(4L, "alice", "Alice Cooper");
+        index.putIfAbsent(7L, "carol", "Carol King");
+
+        assertThat(index.search("alice", 10)).isEmpty();
+        assertThat(index.search("carol", 10)).isEmpty();
+    }
+
+    @Test
+    void testRemovedUsersStayRemovedAcrossCompaction() {
+        index.remove(4L);
+        for (long id = 100; id < 1200; id++) {
+            index.put(id, "user" + id, "Temporary");
+            index.remove(id);
+        }
+
+        index.putIfAbsent(4L, "alice", "Alice Cooper");
+        index.putIfAbsent(100L, "user100", "Temporary");
+
+        assertThat(index.search("alice", 10)).isEmpty();
+        assertThat(index.search("user100", 10)).isEmpty();
+    }
+
+    @Test
+    void testCompactsAfterManyUpdates() {
+        for (int round = 0; round < 3; round++) {
+            for (long id = 100; id < 1200; id++) {
+                index.put(id, "user" + id + "r" + round, "Round " + round);
+            }
+        }
+
+        assertThat(index.size()).isEqualTo(1105);
+        assertThat(index.search("user100r2", 10)).extracting(UserSearchResult::getId).first().isEqualTo(100L);
+        assertThat(index.search("user100r1", 10)).extracting(UserSearchResult::getUsername)
+                .doesNotContain("user100r1", "user100r0");
+        assertThat(index.search("john", 1)).extracting(UserSearchResult::getId).containsExactly(2L);
+    }
+
+    @Test
+    void testRecordsSearchLatency() {
+        index.search("john", 10);
+
+        assertThat(meterRegistry.get("users.search").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("users.search.index.size").gauge().value()).isEqualTo(5.0);
+    }
+}
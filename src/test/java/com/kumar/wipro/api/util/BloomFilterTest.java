@@ -0,0 +1,45 @@
+package com.kumar.wipro.api.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+public class BloomFilterTest {
+
+    @Test
+    void testNoFalseNegatives() {
+        BloomFilter filter = new BloomFilter(10000, 0.01);
+        for (int i = 0; i < 10000; i++) {
+            filter.put("token-" + i);
+        }
+
+        for (int i = 0; i < 10000; i++) {
+            assertThat(filter.mightContain("token-" + i)).isTrue();
+        }
+    }
+
+    @Test
+    void testFalsePositiveRateStaysNearTarget() {
+        BloomFilter filter = new BloomFilter(10000, 0.01);
+        for (int i = 0; i < 10000; i++) {
+            filter.put("token-" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100000; i++) {
+            if (filter.mightContain("other-" + i)) {
+                falsePositives++;
+            }
+        }
+
+        assertThat(falsePositives).isLessThan(2000);
+    }
+
+    @Test
+    void testEmptyFilterContainsNothing() {
+        BloomFilter filter = new BloomFilter(100, 0.001);
+
+        assertThat(filter.mightContain("anything")).isFalse();
+        assertThat(filter.mightContain("")).isFalse();
+    }
+}
@@ -0,0 +1,72 @@
+package com.kumar.wipro.api.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class CharTrieTest {
+
+    @Test
+    void testTermsGetDenseStableIds() {
+        CharTrie trie = new CharTrie(4);
+
+        assertThat(trie.add("ann")).isEqualTo(0);
+        assertThat(trie.add("anna")).isEqualTo(1);
+        assertThat(trie.add("ann")).isEqualTo(0);
+        assertThat(trie.add("")).isEqualTo(2);
+
+        assertThat(trie.termId("anna")).isEqualTo(1);
+        assertThat(trie.termId("an")).isEqualTo(-1);
+        assertThat(trie.termId("bob")).isEqualTo(-1);
+        assertThat(trie.termCount()).isEqualTo(3);
+    }
+
+    @Test
+    void testPrefixWalkReturnsShortestTermsFirst() {
+        CharTrie trie = new CharTrie(4);
+        int annabel = trie.add("annabel");
+        int ann = trie.add("ann");
+        int anna = trie.add("anna");
+        trie.add("bob");
+
+        List<Integer> visited = new ArrayList<>();
+        int count = trie.forEachWithPrefix("an", 100, visited::add);
+
+        assertThat(visited).containsExactly(ann, anna, annabel);
+        assertThat(count).isEqualTo(3);
+        assertThat(trie.forEachWithPrefix("x", 100, visited::add)).isZero();
+    }
+
+    @Test
+    void testPrefixWalkStopsWhenAsked() {
+        CharTrie trie = new CharTrie(4);
+        for (int i = 0; i < 100; i++) {
+            trie.add("user" + i);
+        }
+
+        List<Integer> visited = new ArrayList<>();
+        trie.forEachWithPrefix("user", 1000, term -> {
+            visited.add(term);
+            return visited.size() < 5;
+        });
+        // user0 to user9 have the same length, so the ones after the fifth are visited as ties
+        assertThat(visited).hasSize(10);
+
+        // A node budget bounds the walk even when the visitor never stops it
+        assertThat(trie.forEachWithPrefix("user", 3, term -> true)).isLessThan(3);
+    }
+
+    @Test
+    void testGrowsBeyondInitialCapacity() {
+        CharTrie trie = new CharTrie(1);
+        for (int i = 0; i < 10000; i++) {
+            assertThat(trie.add("term" + i)).isEqualTo(i);
+        }
+        for (int i = 0; i < 10000; i++) {
+            assertThat(trie.termId("term" + i)).isEqualTo(i);
+        }
+    }
+}
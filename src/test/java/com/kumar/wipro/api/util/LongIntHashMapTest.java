@@ -0,0 +1,77 @@
+package com.kumar.wipro.api.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+public class LongIntHashMapTest {
+
+    @Test
+    void testPutAndGet() {
+        LongIntHashMap map = new LongIntHashMap(4);
+        map.put(1L, 10);
+        map.put(2L, 20);
+        map.put(1L, 11);
+
+        assertThat(map.get(1L, -1)).isEqualTo(11);
+        assertThat(map.get(2L, -1)).isEqualTo(20);
+        assertThat(map.get(3L, -1)).isEqualTo(-1);
+        assertThat(map.size()).isEqualTo(2);
+    }
+
+    @Test
+    void testKeysSnapshot() {
+        LongIntHashMap map = new LongIntHashMap(4);
+        for (long key = 0; key < 100; key++) {
+            map.put(key, (int) key);
+        }
+
+        assertThat(map.keys()).hasSize(100).contains(0L, 1L, 99L);
+    }
+
+    @Test
+    void testZeroAndNegativeKeys() {
+        LongIntHashMap map = new LongIntHashMap(4);
+        map.put(0L, 5);
+        map.put(-7L, 6);
+
+        assertThat(map.get(0L, -1)).isEqualTo(5);
+        assertThat(map.get(-7L, -1)).isEqualTo(6);
+    }
+
+    @Test
+    void testGrowsBeyondInitialCapacity() {
+        LongIntHashMap map = new LongIntHashMap(8);
+        for (long key = 1; key <= 10000; key++) {
+            map.put(key, (int) key * 2);
+        }
+
+        assertThat(map.size()).isEqualTo(10000);
+        for (long key = 1; key <= 10000; key++) {
+            assertThat(map.get(key, -1)).isEqualTo((int) key * 2);
+        }
+    }
+
+    @Test
+    void testPutIfGreaterKeepsLargestValue() {
+        LongIntHashMap map = new LongIntHashMap(8);
+        map.putIfGreater(1L, 3);
+        map.putIfGreater(1L, 2);
+        assertThat(map.get(1L, -1)).isEqualTo(3);
+
+        map.putIfGreater(1L, 4);
+        assertThat(map.get(1L, -1)).isEqualTo(4);
+    }
+
+    @Test
+    void testClear() {
+        LongIntHashMap map = new LongIntHashMap(8);
+        map.put(1L, 1);
+        map.put(0L, 1);
+        map.clear();
+
+        assertThat(map.size()).isZero();
+        assertThat(map.get(1L, -1)).isEqualTo(-1);
+        assertThat(map.get(0L, -1)).isEqualTo(-1);
+    }
+}
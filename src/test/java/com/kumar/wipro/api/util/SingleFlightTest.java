@@ -0,0 +1,109 @@
+package com.kumar.wipro.api.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class SingleFlightTest {
+
+    private final SingleFlight<Long, String> flight = new SingleFlight<>();
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testConcurrentLoadsShareOneCall() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+
+        Future<String> leader = executor.submit(() -> flight.load(42L, 5000, () -> {
+            calls.incrementAndGet();
+            await(release);
+            return "johndoe";
+        }));
+        waitForFlight();
+
+        List<Future<String>> followers = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            followers.add(executor.submit(() -> flight.load(42L, 5000, () -> {
+                calls.incrementAndGet();
+                return "someone else";
+            })));
+        }
+        Thread.sleep(100);
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("johndoe");
+        for (Future<String> follower : followers) {
+            assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("johndoe");
+        }
+        assertThat(calls).hasValue(1);
+        assertThat(flight.sharedCount()).isEqualTo(7);
+        assertThat(flight.inFlight()).isZero();
+    }
+
+    @Test
+    void testFailureIsSharedAndNotRemembered() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> leader = executor.submit(() -> flight.load(42L, 5000, () -> {
+            await(release);
+            throw new IllegalArgumentException("not found");
+        }));
+        waitForFlight();
+        Future<String> follower = executor.submit(() -> flight.load(42L, 5000, () -> "unused"));
+        Thread.sleep(100);
+        release.countDown();
+
+        for (Future<String> result : List.of(leader, follower)) {
+            assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(IllegalArgumentException.class);
+        }
+        assertThat(flight.load(42L, 5000, () -> "johndoe")).isEqualTo("johndoe");
+    }
+
+    @Test
+    void testJoiningCallerGivesUpAtTheFlightDeadline() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        executor.submit(() -> flight.load(42L, 100, () -> {
+            await(release);
+            return "johndoe";
+        }));
+        waitForFlight();
+
+        assertThatThrownBy(() -> flight.load(42L, 100, () -> "unused"))
+                .isInstanceOf(SingleFlight.FlightTimeoutException.class);
+        // Other keys are unaffected
+        assertThat(flight.load(7L, 100, () -> "janedoe")).isEqualTo("janedoe");
+        release.countDown();
+    }
+
+    private void waitForFlight() throws InterruptedException {
+        while (flight.inFlight() == 0) {
+            Thread.sleep(1);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.kumar.wipro.api.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+public class TokenBucketMapTest {
+
+    @Test
+    void testChargeOverdrawsBucket() {
+        TokenBucketMap buckets = new TokenBucketMap(1024, 1, 1000, 60000);
+        long now = 1_000_000L;
+
+        buckets.charge("johndoe", now, 5000);
+
+        assertThat(buckets.isAllowed("johndoe", now + 3999)).isFalse();
+        assertThat(buckets.isAllowed("johndoe", now + 5000)).isTrue();
+        assertThat(buckets.debtMillis("johndoe", now + 1000)).isEqualTo(4000);
+    }
+
+    @Test
+    void testKeysNeverShareABucket() {
+        TokenBucketMap buckets = new TokenBucketMap(1024, 2, 60000, 600000);
+        long now = 1_000_000L;
+
+        for (int i = 0; i < 100000; i++) {
+            buckets.charge("user" + i, now, 120000);
+        }
+        buckets.charge("janedoe", now, 60000);
+
+        assertThat(buckets.isAllowed("janedoe", now)).isTrue();
+        assertThat(buckets.isAllowed("nobody", now)).isTrue();
+        assertThat(buckets.debtMillis("nobody", now)).isZero();
+    }
+}
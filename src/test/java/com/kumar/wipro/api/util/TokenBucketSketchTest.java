@@ -0,0 +1,105 @@
+package com.kumar.wipro.api.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+public class TokenBucketSketchTest {
+
+    @Test
+    void testBurstThenRefill() {
+        TokenBucketSketch buckets = new TokenBucketSketch(1024, 2, 3, 1000);
+        long now = 1_000_000L;
+
+        assertThat(buckets.tryAcquire("10.0.0.1", now)).isTrue();
+        assertThat(buckets.tryAcquire("10.0.0.1", now)).isTrue();
+        assertThat(buckets.tryAcquire("10.0.0.1", now)).isTrue();
+        assertThat(buckets.tryAcquire("10.0.0.1", now)).isFalse();
+        assertThat(buckets.retryAfterMillis("10.0.0.1", now)).isEqualTo(1000);
+
+        assertThat(buckets.tryAcquire("10.0.0.1", now + 999)).isFalse();
+        assertThat(buckets.tryAcquire("10.0.0.1", now + 1000)).isTrue();
+        assertThat(buckets.tryAcquire("10.0.0.2", now)).isTrue();
+    }
+
+    @Test
+    void testChargeOverdrawsBucket() {
+        TokenBucketSketch buckets = new TokenBucketSketch(1024, 2, 1, 1000);
+        long now = 1_000_000L;
+
+        buckets.charge("johndoe", now, 5000);
+
+        assertThat(buckets.isAllowed("johndoe", now + 3999)).isFalse();
+        assertThat(buckets.isAllowed("johndoe", now + 5000)).isTrue();
+        assertThat(buckets.debtMillis("johndoe", now + 1000)).isEqualTo(4000);
+    }
+
+    @Test
+    void testCollisionsNeverGrantMoreThanBurst() {
+        TokenBucketSketch buckets = new TokenBucketSketch(65536, 2, 5, 60000);
+        long now = 1_000_000L;
+
+        // A million keys share the same fixed slots
+        for (int i = 0; i < 1_000_000; i++) {
+            buckets.tryAcquire("attacker-" + i, now);
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            int allowed = 0;
+            while (buckets.tryAcquire("attacker-" + i, now)) {
+                allowed++;
+            }
+            assertThat(allowed).isLessThanOrEqualTo(4);
+        }
+    }
+
+    @Test
+    void testUnrelatedKeyKeepsTokensUnderModerateLoad() {
+        TokenBucketSketch buckets = new TokenBucketSketch(65536, 2, 5, 60000);
+        long now = 1_000_000L;
+        for (int i = 0; i < 100_000; i++) {
+            buckets.tryAcquire("attacker-" + i, now);
+        }
+
+        assertThat(buckets.tryAcquire("legitimate-user", now)).isTrue();
+    }
+
+    @Test
+    void testParallelBurstFromOneKeyGetsOnlyBurst() throws Exception {
+        int threads = 32;
+        long now = 1_000_000L;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int round = 0; round < 500; round++) {
+                TokenBucketSketch buckets = new TokenBucketSketch(1024, 2, 5, 60000);
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<Boolean>> attempts = new ArrayList<>();
+                for (int i = 0; i < threads; i++) {
+                    attempts.add(executor.submit(() -> {
+                        start.await();
+                        return buckets.tryAcquire("10.0.0.1", now);
+                    }));
+                }
+                start.countDown();
+
+                int allowed = 0;
+                for (Future<Boolean> attempt : attempts) {
+                    if (attempt.get(10, TimeUnit.SECONDS)) {
+                        allowed++;
+                    }
+                }
+                assertThat(allowed).isEqualTo(5);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}